@@ -0,0 +1,85 @@
+package ToDoList.Infrastructure.Caches;
+
+import ToDoList.Application.Exceptions.CustomExceptions.KeyNotFoundException;
+import ToDoList.Infrastructure.PostgreDB.Repositories.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Кэш подтверждённого существования аутентифицированных пользователей
+ * Идентификатор пользователя приходит из уже проверенного токена, поэтому на горячем пути
+ * достаточно периодически перепроверять, что пользователь не удалён: запись живёт ttl,
+ * после чего пользователь снова проверяется в БД. Отрицательные результаты не кэшируются.
+ * Проверка выполняется в текущей транзакции и при чтении может попасть на реплику, которая ещё
+ * не получила только что зарегистрированного пользователя, поэтому при настроенной реплике
+ * (tasks.datasource.replica.url) отрицательный ответ перепроверяется в отдельной пишущей
+ * транзакции — она всегда идёт на основную БД. Без реплики повторная проверка не выполняется:
+ * вложенной транзакции понадобилось бы второе соединение из того же пула.
+ * При tasks.auth.strict-user-check=true каждая операция проверяет пользователя в БД
+ */
+@Component
+public class AuthenticatedUserCache {
+
+    private final UserRepository _userRepository;
+    private final TransactionTemplate _primaryTransaction;
+    private final boolean _recheckOnPrimary;
+    private final boolean _strictCheck;
+    private final Cache<UUID, Boolean> _cache;
+
+    public AuthenticatedUserCache(UserRepository userRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${tasks.datasource.replica.url:}") String replicaUrl,
+                                  @Value("${tasks.auth.strict-user-check:false}") boolean strictCheck,
+                                  @Value("${tasks.auth.user-cache.max-size:100000}") long maxSize,
+                                  @Value("${tasks.auth.user-cache.ttl:1m}") Duration ttl,
+                                  MeterRegistry meterRegistry) {
+        _userRepository = userRepository;
+        _primaryTransaction = new TransactionTemplate(transactionManager);
+        _primaryTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        _primaryTransaction.setReadOnly(false);
+        _recheckOnPrimary = StringUtils.hasText(replicaUrl);
+        _strictCheck = strictCheck;
+        _cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, _cache, "authenticatedUsers");
+    }
+
+    /**
+     * Проверка существования пользователя
+     * throws KeyNotFoundException если пользователь не найден
+     */
+    public void verifyUser(UUID userId) throws KeyNotFoundException {
+        if (!_strictCheck && _cache.getIfPresent(userId) != null) {
+            return;
+        }
+
+        if (!_userRepository.existsById(userId) && !(_recheckOnPrimary && existsOnPrimary(userId))) {
+            _cache.invalidate(userId);
+            throw new KeyNotFoundException("User is not found");
+        }
+
+        if (!_strictCheck) {
+            _cache.put(userId, Boolean.TRUE);
+        }
+    }
+
+    // Повторная проверка на основной БД, выполняется только для ненайденных пользователей
+    private boolean existsOnPrimary(UUID userId) {
+        return Boolean.TRUE.equals(_primaryTransaction.execute(status -> _userRepository.existsById(userId)));
+    }
+}
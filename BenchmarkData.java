@@ -0,0 +1,63 @@
+package ToDoList.Benchmarks;
+
+import ToDoList.Application.Repositories.ModelsDTO.Task.TaskShortModel;
+import ToDoList.Domain.Entities.Task.Task;
+import ToDoList.Domain.Enums.TaskPriority;
+import ToDoList.Domain.Enums.TaskStatus;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+// Генерация воспроизводимых наборов задач для бенчмарков
+final class BenchmarkData {
+
+    private static final TaskPriority[] PRIORITIES = TaskPriority.values();
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    // Начало интервала времени создания задач (2023-01-01) и его длина (два года)
+    private static final long CREATE_TIME_FROM = 1672531200000L;
+    private static final long CREATE_TIME_SPAN = 2L * 365 * 24 * 3600 * 1000;
+
+    private BenchmarkData() {
+    }
+
+    // Задачи пользователя; примерно у каждой четвёртой нет дедлайна, встречаются одинаковые даты
+    static List<Task> tasks(UUID userId, int count, long seed) {
+        Random random = new Random(seed);
+        LocalDate today = LocalDate.of(2025, 1, 1);
+        List<Task> tasks = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            LocalDate deadline = random.nextInt(4) == 0 ? null : today.plusDays(random.nextInt(730) - 365);
+            tasks.add(new Task(
+                    new UUID(random.nextLong(), random.nextLong()),
+                    userId,
+                    "Task #" + i + (random.nextBoolean() ? " !" + (1 + random.nextInt(4)) : ""),
+                    random.nextBoolean() ? "Description of task " + i : null,
+                    STATUSES[random.nextInt(STATUSES.length)],
+                    PRIORITIES[random.nextInt(PRIORITIES.length)],
+                    deadline,
+                    new Date(CREATE_TIME_FROM + (long) (random.nextDouble() * CREATE_TIME_SPAN)),
+                    null
+            ));
+        }
+        return tasks;
+    }
+
+    static List<TaskShortModel> shortModels(List<Task> tasks) {
+        List<TaskShortModel> models = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            models.add(new TaskShortModel(task.getId(),
+                    task.getTitle(),
+                    task.getDeadline(),
+                    task.getPriority(),
+                    task.getStatus(),
+                    task.getCreateTime()));
+        }
+        return models;
+    }
+}
@@ -0,0 +1,59 @@
+package ToDoList.Infrastructure.Configurations;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Компактные двоичные форматы для API: CBOR (application/cbor) и Smile (application/x-jackson-smile)
+ * Формат выбирается заголовками Accept/Content-Type, без них по-прежнему используется JSON.
+ * Отображатели строятся тем же Jackson2ObjectMapperBuilder, что и JSON, поэтому модели
+ * сериализуются одинаково во всех форматах.
+ * Ответы API помечаются Vary: Accept, чтобы кэши не отдавали JSON клиенту, запросившему CBOR, и наоборот
+ */
+@Configuration
+public class BinaryMessageConvertersConfiguration implements WebMvcConfigurer {
+
+    private ObjectProvider<Jackson2ObjectMapperBuilder> _objectMapperBuilders;
+
+    public BinaryMessageConvertersConfiguration(ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilders) {
+        _objectMapperBuilders = objectMapperBuilders;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // Конвертеры по умолчанию (если есть) построены без настроек приложения — заменяем их.
+        // Двоичные форматы добавляются после JSON, чтобы JSON оставался форматом для Accept: */*
+        converters.removeIf(converter -> converter instanceof MappingJackson2CborHttpMessageConverter
+                || converter instanceof MappingJackson2SmileHttpMessageConverter);
+
+        converters.add(new MappingJackson2CborHttpMessageConverter(
+                _objectMapperBuilders.getObject().factory(new CBORFactory()).build()));
+        converters.add(new MappingJackson2SmileHttpMessageConverter(
+                _objectMapperBuilders.getObject().factory(new SmileFactory()).build()));
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+                return true;
+            }
+        }).addPathPatterns("/api/**");
+    }
+}
@@ -0,0 +1,69 @@
+package ToDoList.Presentation.Filters;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ограничение количества одновременно обрабатываемых запросов, обращающихся к БД
+ * Запрос, не получивший разрешения за отведённое время, завершается ответом 503 с Retry-After
+ */
+public class DatabaseConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final Semaphore _permits;
+    private final long _acquireTimeoutNanos;
+    private final Counter _rejected;
+
+    public DatabaseConcurrencyLimitFilter(int maxConcurrentRequests, Duration acquireTimeout, MeterRegistry meterRegistry) {
+        _permits = new Semaphore(maxConcurrentRequests, true);
+        _acquireTimeoutNanos = acquireTimeout.toNanos();
+        _rejected = Counter.builder("tasks.concurrency.limit.rejected")
+                .description("Requests rejected by the database concurrency limit")
+                .register(meterRegistry);
+
+        Gauge.builder("tasks.concurrency.limit.in.flight", _permits,
+                        permits -> maxConcurrentRequests - permits.availablePermits())
+                .description("Requests holding a database concurrency permit")
+                .register(meterRegistry);
+        Gauge.builder("tasks.concurrency.limit.queued", _permits, Semaphore::getQueueLength)
+                .description("Requests waiting for a database concurrency permit")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = _permits.tryAcquire(_acquireTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+
+        if (!acquired) {
+            _rejected.increment();
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Too many concurrent requests");
+            return;
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            _permits.release();
+        }
+    }
+}
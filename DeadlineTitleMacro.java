@@ -0,0 +1,71 @@
+package ToDoList.Domain.Services.TitleMacros;
+
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+// Макрос дедлайна: "!before dd.mm.yyyy" или "!before dd-mm-yyyy"
+@Component
+public class DeadlineTitleMacro implements ITitleMacro {
+
+    private static final String PREFIX = "!before ";
+
+    // Длина макроса: префикс + "dd.mm.yyyy"
+    private static final int LENGTH = PREFIX.length() + 10;
+
+    @Override
+    public TitleMacroType getType() {
+        return TitleMacroType.Deadline;
+    }
+
+    @Override
+    public int match(String title, int start) {
+        if (start + LENGTH > title.length() || !title.startsWith(PREFIX, start)) {
+            return -1;
+        }
+        int date = start + PREFIX.length();
+        if (!isSeparator(title.charAt(date + 2)) || !isSeparator(title.charAt(date + 5))) {
+            return -1;
+        }
+
+        int day = readNumber(title, date, 2);
+        int month = readNumber(title, date + 3, 2);
+        int year = readNumber(title, date + 6, 4);
+
+        if (day < 1 || day > 31 || month < 1 || month > 12 || year < 1) {
+            return -1;
+        }
+        return start + LENGTH;
+    }
+
+    @Override
+    public void apply(String title, int start, int end, TitleMacroParseResult result) {
+        int date = start + PREFIX.length();
+        int day = readNumber(title, date, 2);
+        int month = readNumber(title, date + 3, 2);
+        int year = readNumber(title, date + 6, 4);
+
+        // Несуществующий день месяца (например, 31.02) приводится к последнему дню месяца,
+        // как при разборе DateTimeFormatter в режиме SMART
+        int lastDay = YearMonth.of(year, month).lengthOfMonth();
+        result.setDeadline(LocalDate.of(year, month, Math.min(day, lastDay)));
+    }
+
+    private static boolean isSeparator(char c) {
+        return c == '.' || c == '-';
+    }
+
+    // Чтение числа из count десятичных цифр, -1 если встретилась не цифра
+    private static int readNumber(String title, int from, int count) {
+        int value = 0;
+        for (int i = from; i < from + count; i++) {
+            char c = title.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+}
@@ -0,0 +1,35 @@
+package ToDoList.Infrastructure.Configurations;
+
+import org.apache.catalina.valves.RemoteIpValve;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+/**
+ * Определение адреса клиента за обратным прокси по X-Forwarded-For / X-Forwarded-Proto
+ * Заголовки учитываются только от доверенных прокси (tasks.http.trusted-proxies — регулярное выражение
+ * по IP; по умолчанию частные сети, как в Tomcat), поэтому request.getRemoteAddr() возвращает
+ * адрес клиента, а не прокси, и лимиты по IP не превращаются в один общий лимит.
+ * Не включать одновременно с server.forward-headers-strategy=native — иначе будет два RemoteIpValve
+ */
+@Configuration
+public class ForwardedHeadersConfiguration {
+
+    @Bean
+    public WebServerFactoryCustomizer<TomcatServletWebServerFactory> forwardedHeadersCustomizer(
+            @Value("${tasks.http.trusted-proxies:}") String trustedProxies) {
+        return factory -> {
+            RemoteIpValve valve = new RemoteIpValve();
+            valve.setRemoteIpHeader("X-Forwarded-For");
+            valve.setProtocolHeader("X-Forwarded-Proto");
+            // Пустое значение оставляет список доверенных прокси Tomcat по умолчанию
+            if (StringUtils.hasText(trustedProxies)) {
+                valve.setInternalProxies(trustedProxies);
+            }
+            factory.addEngineValves(valve);
+        };
+    }
+}
@@ -0,0 +1,27 @@
+package ToDoList.Infrastructure.PostgreDB.Configurations;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+
+// Настройка пакетной записи в PostgreSQL через Hibernate.
+// Свойства пула основной БД (reWriteBatchedInserts драйвера PostgreSQL, переписывающий пакет одиночных
+// INSERT в многострочный INSERT) заданы в hibernate-batch.properties и переопределяются application.properties
+@Configuration
+@PropertySource("classpath:hibernate-batch.properties")
+public class HibernateBatchConfiguration {
+
+    // Размер пакета JDBC, с ним же согласована периодическая очистка контекста при пакетных вставках
+    public static final int JDBC_BATCH_SIZE = 50;
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateBatchPropertiesCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_BATCH_SIZE, JDBC_BATCH_SIZE);
+            properties.put(AvailableSettings.ORDER_INSERTS, true);
+            properties.put(AvailableSettings.ORDER_UPDATES, true);
+        };
+    }
+}
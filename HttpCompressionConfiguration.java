@@ -0,0 +1,40 @@
+package ToDoList.Infrastructure.Configurations;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.server.Compression;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.boot.web.servlet.server.ConfigurableServletWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Сжатие ответов gzip по Accept-Encoding для ответов не меньше tasks.compression.min-response-size
+ * Tomcat при сжатии заменяет сильный ETag слабым, условные запросы с If-None-Match продолжают работать.
+ * Brotli встроенный сервер не поддерживает — его следует включать на обратном прокси
+ */
+@Configuration
+@ConditionalOnProperty(name = "tasks.compression.enabled", havingValue = "true", matchIfMissing = true)
+public class HttpCompressionConfiguration {
+
+    private static final String[] MIME_TYPES = {
+            "application/json",
+            "application/x-ndjson",
+            "application/cbor",
+            "application/x-jackson-smile",
+            "text/plain"
+    };
+
+    @Bean
+    public WebServerFactoryCustomizer<ConfigurableServletWebServerFactory> compressionCustomizer(
+            @Value("${tasks.compression.min-response-size:1KB}") DataSize minResponseSize) {
+        return factory -> {
+            Compression compression = new Compression();
+            compression.setEnabled(true);
+            compression.setMinResponseSize(minResponseSize);
+            compression.setMimeTypes(MIME_TYPES);
+            factory.setCompression(compression);
+        };
+    }
+}
@@ -0,0 +1,58 @@
+package ToDoList.Application.Services.Interfaces.Task;
+
+import ToDoList.Application.Exceptions.CustomExceptions.KeyNotFoundException;
+import ToDoList.Application.Exceptions.CustomExceptions.NotEnoughAccessException;
+import ToDoList.Application.Exceptions.CustomExceptions.PreconditionFailedException;
+import ToDoList.Application.Repositories.ModelsDTO.Enums.TaskSortModel;
+import ToDoList.Application.Repositories.ModelsDTO.Task.*;
+import ToDoList.Application.Repositories.ModelsDTO.VersionedModel;
+import org.apache.coyote.BadRequestException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+public interface ITaskService {
+
+    UUID createTask(UUID userId, TaskCreateModel taskCreateModel) throws KeyNotFoundException, BadRequestException;
+
+    // Пакетное создание задач, возвращает идентификаторы в порядке входного списка
+    List<UUID> createTasks(UUID userId, List<TaskCreateModel> taskCreateModels) throws KeyNotFoundException, BadRequestException;
+
+    // expectedVersions — допустимые версии задачи (If-Match), null — без проверки версии
+    void editTask(UUID taskId, UUID userId, EditTaskModel editTaskModel, Set<Long> expectedVersions)
+            throws KeyNotFoundException, BadRequestException, NotEnoughAccessException, PreconditionFailedException;
+
+    void deleteTask(UUID taskId, UUID userId, Set<Long> expectedVersions)
+            throws KeyNotFoundException, NotEnoughAccessException, PreconditionFailedException;
+
+    // Групповая смена статуса или удаление задач пользователя, возвращает результат для каждой задачи
+    TaskBulkResultModel bulkUpdateTasks(UUID userId, TaskBulkModel taskBulkModel) throws KeyNotFoundException, BadRequestException;
+
+    TaskModel getTask(UUID taskId, UUID userId) throws KeyNotFoundException, NotEnoughAccessException;
+
+    VersionedModel<TaskModel> getVersionedTask(UUID taskId, UUID userId) throws KeyNotFoundException, NotEnoughAccessException;
+
+    TaskShortModelList getUserTasks(UUID userId, TaskSortModel taskSortModel) throws KeyNotFoundException;
+
+    VersionedModel<TaskShortModelList> getVersionedUserTasks(UUID userId, TaskSortModel taskSortModel) throws KeyNotFoundException;
+
+    // Список задач пользователя, отфильтрованный в БД; пустой фильтр равнозначен getVersionedUserTasks
+    VersionedModel<TaskShortModelList> getFilteredUserTasks(UUID userId, TaskSortModel taskSortModel, TaskFilterModel taskFilterModel)
+            throws KeyNotFoundException, BadRequestException;
+
+    // Сводные счётчики задач пользователя для панели мониторинга
+    TaskStatsModel getUserTasksStats(UUID userId) throws KeyNotFoundException;
+
+    // Постраничное получение задач пользователя (keyset-пагинация по курсору)
+    TaskShortModelPage getUserTasksPage(UUID userId, TaskSortModel taskSortModel, int pageSize, String cursor)
+            throws KeyNotFoundException, BadRequestException;
+
+    // Инкрементальная синхронизация по токену из предыдущего ответа (пустой токен — полный список)
+    TaskDeltaModel getUserTasksDelta(UUID userId, String syncToken) throws KeyNotFoundException, BadRequestException;
+
+    // Потоковая выгрузка всех задач пользователя в формате NDJSON
+    void exportUserTasks(UUID userId, OutputStream outputStream) throws KeyNotFoundException, IOException;
+}
@@ -0,0 +1,19 @@
+package ToDoList.Domain.Services.TitleMacros;
+
+/**
+ * Макрос заголовка задачи, начинающийся с символа '!'
+ * Новые макросы добавляются реализацией этого интерфейса в виде Spring-компонента
+ */
+public interface ITitleMacro {
+
+    TitleMacroType getType();
+
+    /**
+     * Проверка, начинается ли в позиции start (символ '!') данный макрос
+     * return позиция сразу за концом макроса или -1, если макрос не распознан
+     */
+    int match(String title, int start);
+
+    // Запись значения распознанного макроса [start, end) в результат разбора
+    void apply(String title, int start, int end, TitleMacroParseResult result);
+}
@@ -0,0 +1,126 @@
+package ToDoList.Benchmarks;
+
+import ToDoList.Domain.Entities.Task.Task;
+import ToDoList.Infrastructure.PostgreDB.Repositories.TaskRepository;
+import ToDoList.Infrastructure.PostgreDB.Repositories.TaskTombstoneRepository;
+import ToDoList.Infrastructure.PostgreDB.Repositories.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.*;
+
+/**
+ * Репозитории и EntityManager в памяти для бенчмарков TaskService
+ * Явно реализованы методы, которые вызывают чтения TaskService (список, задача, проверка пользователя);
+ * записи через EntityManager игнорируются. Остальные методы бросают UnsupportedOperationException —
+ * бенчмарки вызывают измеряемые методы один раз при подготовке, чтобы такой вызов обнаружился до замеров
+ */
+final class InMemoryRepositories {
+
+    private InMemoryRepositories() {
+    }
+
+    static TaskRepository taskRepository(List<Task> tasks) {
+        Map<UUID, List<Task>> byUser = new HashMap<>();
+        Map<UUID, Task> byId = new HashMap<>();
+        for (Task task : tasks) {
+            byUser.computeIfAbsent(task.getUserId(), id -> new ArrayList<>()).add(task);
+            byId.put(task.getId(), task);
+        }
+
+        return proxy(TaskRepository.class, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "findByUserId":
+                    // Как и JPA, каждый вызов возвращает новый список
+                    return new ArrayList<>(byUser.getOrDefault((UUID) args[0], List.of()));
+                case "findShortModelsByUserId":
+                    // Проекция строится при каждом вызове, как и при выборке из БД
+                    return BenchmarkData.shortModels(byUser.getOrDefault((UUID) args[0], List.of()));
+                case "findById":
+                    return Optional.ofNullable(byId.get((UUID) args[0]));
+                case "existsById":
+                    return byId.containsKey((UUID) args[0]);
+                case "count":
+                    return (long) byId.size();
+                default:
+                    return unsupported(proxy, method.getName(), args);
+            }
+        });
+    }
+
+    // Отметок об удалении нет: в бенчмарках задачи не удаляются
+    static TaskTombstoneRepository taskTombstoneRepository() {
+        return proxy(TaskTombstoneRepository.class, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "findDeletedTaskIdsSince":
+                    return new ArrayList<UUID>();
+                case "count":
+                    return 0L;
+                default:
+                    return unsupported(proxy, method.getName(), args);
+            }
+        });
+    }
+
+    // Контекст персистентности без БД: операции записи и управления контекстом ничего не делают
+    static EntityManager entityManager() {
+        return proxy(EntityManager.class, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "persist":
+                case "detach":
+                case "flush":
+                case "clear":
+                    return null;
+                case "isOpen":
+                    return true;
+                default:
+                    return unsupported(proxy, method.getName(), args);
+            }
+        });
+    }
+
+    // Транзакции без БД: для повторной проверки пользователя в AuthenticatedUserCache и загрузки списков в TaskService
+    static PlatformTransactionManager transactionManager() {
+        return proxy(PlatformTransactionManager.class, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getTransaction":
+                    return new SimpleTransactionStatus();
+                case "commit":
+                case "rollback":
+                    return null;
+                default:
+                    return unsupported(proxy, method.getName(), args);
+            }
+        });
+    }
+
+    static UserRepository userRepository(Set<UUID> userIds) {
+        return proxy(UserRepository.class, (proxy, method, args) -> {
+            if (method.getName().equals("existsById")) {
+                return userIds.contains((UUID) args[0]);
+            }
+            return unsupported(proxy, method.getName(), args);
+        });
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    // Методы Object обрабатываются, остальные вызовы запрещены
+    private static Object unsupported(Object proxy, String name, Object[] args) {
+        switch (name) {
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "equals":
+                return proxy == args[0];
+            case "toString":
+                return "InMemoryRepository";
+            default:
+                throw new UnsupportedOperationException(name + " is not implemented by the in-memory benchmark repositories");
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package ToDoList.Infrastructure.RateLimiting;
+
+import ToDoList.Application.Exceptions.CustomExceptions.TooManyRequestsException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Ограничение нагрузки от входа и регистрации пользователей (хэширование паролей)
+ * Работа выполняется в отдельном ограниченном пуле потоков, поэтому всплеск входов не занимает
+ * все ядра и не замедляет запросы к задачам. Запрос отклоняется с 429, если клиент исчерпал
+ * свою корзину токенов или очередь пула заполнена.
+ * Лимит ведётся только по адресу клиента. Корзина на логин не используется: она расходуется до
+ * проверки пароля, и любой мог бы держать чужую учётную запись заблокированной запросами с разных адресов.
+ * Метрики: tasks.auth.throttle.rejected (тег reason), метрики пула под именем authHashing
+ */
+@Component
+public class LoginThrottle {
+
+    // Действие, выполняемое в пуле хэширования
+    @FunctionalInterface
+    public interface Work<T, E extends Exception> {
+        T run() throws E;
+    }
+
+    private final ExecutorService _executor;
+    private final Cache<String, TokenBucket> _buckets;
+    private final int _burst;
+    private final double _perSecond;
+    private final Counter _rateLimited;
+    private final Counter _queueFull;
+
+    public LoginThrottle(@Value("${tasks.auth.hashing.threads:0}") int threads,
+                         @Value("${tasks.auth.hashing.queue-size:64}") int queueSize,
+                         @Value("${tasks.auth.rate-limit.burst:10}") int burst,
+                         @Value("${tasks.auth.rate-limit.per-second:1}") double perSecond,
+                         @Value("${tasks.auth.rate-limit.max-clients:100000}") long maxClients,
+                         MeterRegistry meterRegistry) {
+        // По умолчанию под хэширование отдаётся половина ядер
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "auth-hashing-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        _executor = ExecutorServiceMetrics.monitor(meterRegistry, executor, "authHashing");
+        _buckets = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(Duration.ofMinutes(10))
+                .build();
+        _burst = burst;
+        _perSecond = perSecond;
+        _rateLimited = rejectedCounter(meterRegistry, "rate");
+        _queueFull = rejectedCounter(meterRegistry, "queue");
+    }
+
+    /**
+     * Выполнение работы в пуле хэширования с учётом лимита клиента
+     * param clientKey ключ клиента для лимита (IP-адрес)
+     * throws TooManyRequestsException если лимит клиента исчерпан или очередь пула заполнена
+     */
+    public <T, E extends Exception> T execute(String clientKey, Work<T, E> work) throws E, TooManyRequestsException {
+        if (!_buckets.get(clientKey, key -> new TokenBucket(_burst, _perSecond)).tryConsume()) {
+            _rateLimited.increment();
+            throw new TooManyRequestsException("Too many login attempts, try again later");
+        }
+
+        Future<T> future;
+        try {
+            future = _executor.submit(work::run);
+        } catch (RejectedExecutionException e) {
+            _queueFull.increment();
+            throw new TooManyRequestsException("Server is busy, try again later");
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for authentication", e);
+        } catch (ExecutionException e) {
+            throw LoginThrottle.<E>rethrow(e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        _executor.shutdown();
+    }
+
+    private static Counter rejectedCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("tasks.auth.throttle.rejected")
+                .description("Authentication requests rejected by the login throttle")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    // Исключение работы пробрасывается как есть: непроверяемые — напрямую, проверяемые — как E
+    @SuppressWarnings("unchecked")
+    private static <E extends Exception> E rethrow(Throwable cause) {
+        if (cause instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return (E) cause;
+    }
+}
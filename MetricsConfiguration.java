@@ -0,0 +1,54 @@
+package ToDoList.Infrastructure.Configurations;
+
+import ToDoList.Infrastructure.Metrics.RepositoryCallsInterceptor;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Настройка метрик Micrometer
+ * Для HTTP-запросов и всех метрик tasks.* публикуются гистограммы, по которым
+ * в Prometheus считаются перцентили задержек и размеров
+ */
+@Configuration
+public class MetricsConfiguration implements WebMvcConfigurer {
+
+    private RepositoryCallsInterceptor _repositoryCallsInterceptor;
+
+    public MetricsConfiguration(RepositoryCallsInterceptor repositoryCallsInterceptor) {
+        _repositoryCallsInterceptor = repositoryCallsInterceptor;
+    }
+
+    // Поддержка аннотации @Timed на методах Spring-компонентов
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Bean
+    public MeterFilter taskHistogramsMeterFilter() {
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (id.getName().equals("http.server.requests") || id.getName().startsWith("tasks.")) {
+                    return DistributionStatisticConfig.builder()
+                            .percentilesHistogram(true)
+                            .build()
+                            .merge(config);
+                }
+                return config;
+            }
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(_repositoryCallsInterceptor).addPathPatterns("/api/**");
+    }
+}
@@ -0,0 +1,32 @@
+package ToDoList.Domain.Services.TitleMacros;
+
+import ToDoList.Domain.Enums.TaskPriority;
+import org.springframework.stereotype.Component;
+
+// Макрос приоритета: !1 — Low, !2 — Medium, !3 — High, !4 — Critical
+@Component
+public class PriorityTitleMacro implements ITitleMacro {
+
+    private static final TaskPriority[] PRIORITIES = {
+            TaskPriority.Low, TaskPriority.Medium, TaskPriority.High, TaskPriority.Critical
+    };
+
+    @Override
+    public TitleMacroType getType() {
+        return TitleMacroType.Priority;
+    }
+
+    @Override
+    public int match(String title, int start) {
+        if (start + 1 >= title.length()) {
+            return -1;
+        }
+        char level = title.charAt(start + 1);
+        return level >= '1' && level <= '4' ? start + 2 : -1;
+    }
+
+    @Override
+    public void apply(String title, int start, int end, TitleMacroParseResult result) {
+        result.setPriority(PRIORITIES[title.charAt(start + 1) - '1']);
+    }
+}
@@ -0,0 +1,94 @@
+package ToDoList.Infrastructure.PostgreDB.Routing;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Чтение собственных изменений при работе с репликой
+ * Изменяющий запрос отмечает пользователя ещё до выполнения (чтения, отправленные параллельно
+ * с записью, не уходят на реплику), и отметка обновляется по завершении: в течение max-lag после
+ * записи чтения пользователя направляются на основную БД, чтобы он не увидел список без только
+ * что созданной или изменённой задачи.
+ * Отметки хранятся в памяти процесса: при нескольких экземплярах приложения запросы пользователя
+ * должны попадать на один экземпляр, либо max-lag должен покрывать задержку реплики целиком
+ */
+public class ReplicaConsistencyInterceptor implements HandlerInterceptor {
+
+    private final Cache<UUID, Boolean> _recentWriters;
+    private final Counter _primaryReads;
+
+    public ReplicaConsistencyInterceptor(Duration maxLag, long maxUsers, MeterRegistry meterRegistry) {
+        _recentWriters = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterWrite(maxLag)
+                .build();
+        _primaryReads = Counter.builder("tasks.datasource.replica.bypassed")
+                .description("Read requests sent to the primary because the user wrote recently")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        UUID userId = currentUserId();
+        if (userId == null) {
+            return true;
+        }
+
+        if (!isRead(request)) {
+            _recentWriters.put(userId, Boolean.TRUE);
+        } else if (_recentWriters.getIfPresent(userId) != null) {
+            TransactionRoutingDataSource.forcePrimary();
+            _primaryReads.increment();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        TransactionRoutingDataSource.clearForcePrimary();
+
+        // Окно max-lag отсчитывается заново от фиксации записи: долгая транзакция не сокращает его
+        if (!isRead(request)) {
+            UUID userId = currentUserId();
+            if (userId != null) {
+                _recentWriters.put(userId, Boolean.TRUE);
+            }
+        }
+    }
+
+    private static boolean isRead(HttpServletRequest request) {
+        return HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod());
+    }
+
+    // Пользователь из контекста безопасности, null — если запрос не аутентифицирован
+    private static UUID currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            return null;
+        }
+
+        Object principal = authentication.getPrincipal();
+        if (principal instanceof UUID userId) {
+            return userId;
+        }
+        if (principal instanceof String value) {
+            try {
+                return UUID.fromString(value);
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,87 @@
+package ToDoList.Infrastructure.PostgreDB.Configurations;
+
+import ToDoList.Infrastructure.PostgreDB.Routing.ReplicaConsistencyInterceptor;
+import ToDoList.Infrastructure.PostgreDB.Routing.TransactionRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Чтение с реплики PostgreSQL (включается заданием tasks.datasource.replica.url)
+ * Основная БД настраивается как обычно через spring.datasource, реплика — через tasks.datasource.replica
+ * (url, username, password, hikari.*). Транзакции readOnly идут на реплику, остальные — на основную БД;
+ * после собственных изменений пользователь читает с основной БД в течение tasks.datasource.replica.max-lag
+ */
+@Configuration
+@ConditionalOnProperty(name = "tasks.datasource.replica.url")
+public class ReplicaRoutingConfiguration implements WebMvcConfigurer {
+
+    private ReplicaConsistencyInterceptor _replicaConsistencyInterceptor;
+
+    public ReplicaRoutingConfiguration(@Value("${tasks.datasource.replica.max-lag:5s}") Duration maxLag,
+                                       @Value("${tasks.datasource.replica.max-tracked-users:100000}") long maxUsers,
+                                       MeterRegistry meterRegistry) {
+        _replicaConsistencyInterceptor = new ReplicaConsistencyInterceptor(maxLag, maxUsers, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    @ConfigurationProperties("spring.datasource")
+    public DataSourceProperties primaryDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(@Qualifier("primaryDataSourceProperties") DataSourceProperties primaryProperties) {
+        return primaryProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("tasks.datasource.replica")
+    public DataSourceProperties replicaDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties("tasks.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(@Qualifier("replicaDataSourceProperties") DataSourceProperties replicaProperties) {
+        HikariDataSource dataSource = replicaProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") DataSource replicaDataSource) {
+        TransactionRoutingDataSource routingDataSource = new TransactionRoutingDataSource();
+        routingDataSource.setTargetDataSources(Map.of(
+                TransactionRoutingDataSource.Role.Primary, primaryDataSource,
+                TransactionRoutingDataSource.Role.Replica, replicaDataSource));
+        routingDataSource.setDefaultTargetDataSource(primaryDataSource);
+        routingDataSource.afterPropertiesSet();
+
+        // Соединение запрашивается при первом запросе, когда признак readOnly транзакции уже известен
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(_replicaConsistencyInterceptor).addPathPatterns("/api/v1/tasks", "/api/v1/tasks/**");
+    }
+}
@@ -0,0 +1,38 @@
+package ToDoList.Infrastructure.Metrics;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Подсчёт обращений к репозиториям Spring Data в рамках текущего запроса
+ * Время самих вызовов публикует Spring Boot в метрике spring.data.repository.invocations
+ */
+@Aspect
+@Component
+public class RepositoryCallCounter {
+
+    private static final ThreadLocal<int[]> CALLS = new ThreadLocal<>();
+
+    @Around("target(org.springframework.data.repository.Repository)")
+    public Object count(ProceedingJoinPoint joinPoint) throws Throwable {
+        int[] calls = CALLS.get();
+        if (calls != null) {
+            calls[0]++;
+        }
+        return joinPoint.proceed();
+    }
+
+    // Начало подсчёта для текущего потока
+    static void start() {
+        CALLS.set(new int[1]);
+    }
+
+    // Завершение подсчёта, возвращает количество вызовов или -1, если подсчёт не начинался
+    static int stop() {
+        int[] calls = CALLS.get();
+        CALLS.remove();
+        return calls == null ? -1 : calls[0];
+    }
+}
@@ -0,0 +1,45 @@
+package ToDoList.Infrastructure.Metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Распределение количества обращений к репозиториям на один HTTP-запрос (tasks.repository.calls)
+ * по шаблону маршрута — помогает находить N+1 и лишние проверки пользователя
+ */
+@Component
+public class RepositoryCallsInterceptor implements HandlerInterceptor {
+
+    private MeterRegistry _meterRegistry;
+
+    public RepositoryCallsInterceptor(MeterRegistry meterRegistry) {
+        _meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RepositoryCallCounter.start();
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        int calls = RepositoryCallCounter.stop();
+        if (calls < 0) {
+            return;
+        }
+
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        DistributionSummary.builder("tasks.repository.calls")
+                .description("Repository calls per HTTP request")
+                .tag("method", request.getMethod())
+                .tag("uri", pattern != null ? pattern.toString() : "UNKNOWN")
+                .register(_meterRegistry)
+                .record(calls);
+    }
+}
@@ -0,0 +1,10 @@
+package ToDoList.Infrastructure.Configurations;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Включение фоновых задач по расписанию (@Scheduled)
+@Configuration
+@EnableScheduling
+public class SchedulingConfiguration {
+}
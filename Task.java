@@ -0,0 +1,147 @@
+package ToDoList.Domain.Entities.Task;
+
+import ToDoList.Domain.Enums.TaskPriority;
+import ToDoList.Domain.Enums.TaskStatus;
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.UUID;
+
+@Entity
+@Table(name = "tasks", indexes = {
+        // Индексы под keyset-пагинацию списка задач пользователя
+        @Index(name = "ix_tasks_user_id_create_time", columnList = "user_id, create_time, id"),
+        @Index(name = "ix_tasks_user_id_deadline", columnList = "user_id, deadline, id"),
+        // Индекс для инкрементальной синхронизации изменённых задач
+        @Index(name = "ix_tasks_user_id_change_id", columnList = "user_id, change_id"),
+        // Индекс для фонового перевода просроченных задач в статус Overdue
+        @Index(name = "ix_tasks_status_deadline", columnList = "status, deadline"),
+        // Индексы для фильтрации списка задач пользователя по статусу и приоритету
+        @Index(name = "ix_tasks_user_id_status", columnList = "user_id, status"),
+        @Index(name = "ix_tasks_user_id_priority", columnList = "user_id, priority")
+})
+public class Task {
+
+    @Id
+    private UUID id;
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    private String title;
+
+    @Column(columnDefinition = "text")
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    private TaskStatus status;
+
+    @Enumerated(EnumType.STRING)
+    private TaskPriority priority;
+
+    private LocalDate deadline;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "create_time", nullable = false)
+    private Date createTime;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "update_time")
+    private Date updateTime;
+
+    // Версия для оптимистической блокировки и ETag, увеличивается при каждом изменении
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private long version;
+
+    // Идентификатор транзакции PostgreSQL, последней создавшей или изменившей задачу (pg_current_xact_id).
+    // При вставке задаётся значением по умолчанию, при изменении — в каждом UPDATE (TaskRepository.CURRENT_CHANGE_ID)
+    @Column(name = "change_id", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "bigint default (pg_current_xact_id()::text::bigint)")
+    private long changeId;
+
+    protected Task() {
+    }
+
+    public Task(UUID id, UUID userId, String title, String description, TaskStatus status,
+                TaskPriority priority, LocalDate deadline, Date createTime, Date updateTime) {
+        this.id = id;
+        this.userId = userId;
+        this.title = title;
+        this.description = description;
+        this.status = status;
+        this.priority = priority;
+        this.deadline = deadline;
+        this.createTime = createTime;
+        this.updateTime = updateTime;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public TaskStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(TaskStatus status) {
+        this.status = status;
+    }
+
+    public TaskPriority getPriority() {
+        return priority;
+    }
+
+    public void setPriority(TaskPriority priority) {
+        this.priority = priority;
+    }
+
+    public LocalDate getDeadline() {
+        return deadline;
+    }
+
+    public void setDeadline(LocalDate deadline) {
+        this.deadline = deadline;
+    }
+
+    public Date getCreateTime() {
+        return createTime;
+    }
+
+    public Date getUpdateTime() {
+        return updateTime;
+    }
+
+    public void setUpdateTime(Date updateTime) {
+        this.updateTime = updateTime;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public long getChangeId() {
+        return changeId;
+    }
+}
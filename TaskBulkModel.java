@@ -0,0 +1,38 @@
+package ToDoList.Application.Repositories.ModelsDTO.Task;
+
+import ToDoList.Application.Repositories.ModelsDTO.Enums.TaskBulkOperationModel;
+
+import java.util.List;
+import java.util.UUID;
+
+public class TaskBulkModel {
+
+    // Идентификаторы задач, к которым применяется операция
+    private List<UUID> ids;
+
+    private TaskBulkOperationModel operation;
+
+    public TaskBulkModel() {
+    }
+
+    public TaskBulkModel(List<UUID> ids, TaskBulkOperationModel operation) {
+        this.ids = ids;
+        this.operation = operation;
+    }
+
+    public List<UUID> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<UUID> ids) {
+        this.ids = ids;
+    }
+
+    public TaskBulkOperationModel getOperation() {
+        return operation;
+    }
+
+    public void setOperation(TaskBulkOperationModel operation) {
+        this.operation = operation;
+    }
+}
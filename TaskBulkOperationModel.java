@@ -0,0 +1,11 @@
+package ToDoList.Application.Repositories.ModelsDTO.Enums;
+
+// Операция над группой задач
+public enum TaskBulkOperationModel {
+    // Завершить: Completed, либо Late, если дедлайн уже прошёл
+    Complete,
+    // Вернуть в работу: Active, либо Overdue, если дедлайн уже прошёл
+    Activate,
+    // Удалить
+    Delete
+}
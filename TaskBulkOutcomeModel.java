@@ -0,0 +1,8 @@
+package ToDoList.Application.Repositories.ModelsDTO.Enums;
+
+// Результат групповой операции для одной задачи
+public enum TaskBulkOutcomeModel {
+    Ok,
+    NotFound,
+    Forbidden
+}
@@ -0,0 +1,20 @@
+package ToDoList.Application.Repositories.ModelsDTO.Task;
+
+import ToDoList.Application.Repositories.ModelsDTO.Enums.TaskBulkOutcomeModel;
+
+import java.util.Map;
+import java.util.UUID;
+
+public class TaskBulkResultModel {
+
+    // Результат для каждой задачи из запроса, в порядке запроса
+    private Map<UUID, TaskBulkOutcomeModel> outcomes;
+
+    public TaskBulkResultModel(Map<UUID, TaskBulkOutcomeModel> outcomes) {
+        this.outcomes = outcomes;
+    }
+
+    public Map<UUID, TaskBulkOutcomeModel> getOutcomes() {
+        return outcomes;
+    }
+}
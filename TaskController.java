@@ -2,29 +2,60 @@ package ToDoList.Presentation.Controllers;
 
 import ToDoList.Application.Exceptions.CustomExceptions.KeyNotFoundException;
 import ToDoList.Application.Exceptions.CustomExceptions.NotEnoughAccessException;
+import ToDoList.Application.Exceptions.CustomExceptions.PreconditionFailedException;
 import ToDoList.Application.Repositories.ModelsDTO.Enums.TaskSortModel;
 import ToDoList.Application.Repositories.ModelsDTO.Task.EditTaskModel;
+import ToDoList.Application.Repositories.ModelsDTO.Task.TaskBulkModel;
+import ToDoList.Application.Repositories.ModelsDTO.Task.TaskBulkResultModel;
+import ToDoList.Application.Repositories.ModelsDTO.Task.TaskDeltaModel;
 import ToDoList.Application.Repositories.ModelsDTO.Task.TaskCreateModel;
+import ToDoList.Application.Repositories.ModelsDTO.Task.TaskFilterModel;
 import ToDoList.Application.Repositories.ModelsDTO.Task.TaskModel;
 import ToDoList.Application.Repositories.ModelsDTO.Task.TaskShortModelList;
+import ToDoList.Application.Repositories.ModelsDTO.Task.TaskShortModelPage;
+import ToDoList.Application.Repositories.ModelsDTO.Task.TaskStatsModel;
+import ToDoList.Application.Repositories.ModelsDTO.VersionedModel;
 import ToDoList.Application.Services.Interfaces.Task.ITaskService;
+import ToDoList.Domain.Enums.TaskPriority;
+import ToDoList.Domain.Enums.TaskStatus;
+import jakarta.servlet.http.HttpServletResponse;
 import org.apache.coyote.BadRequestException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 @RestController // Помечает класс как контроллер REST, обрабатывающий HTTP-запросы
 @RequestMapping("/api/v1/tasks") // Базовый маршрут для всех endpoints данного контроллера
 public class TaskController {
 
+    // Параметры фильтра, которые поддерживает только получение полного списка задач
+    private static final String[] FILTER_PARAMS = {"status", "priority", "deadlineFrom", "deadlineTo", "q"};
+
+    private static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+
     private ITaskService _taskService;
+    private ContentNegotiationManager _contentNegotiationManager; // Определение формата ответа для ETag
 
-    // Конструктор с внедрением зависимости — сервис задач
-    public TaskController(ITaskService taskService) {
+    // Конструктор с внедрением зависимостей — сервис задач и выбор формата ответа
+    public TaskController(ITaskService taskService, ContentNegotiationManager contentNegotiationManager) {
         _taskService = taskService;
+        _contentNegotiationManager = contentNegotiationManager;
     }
 
     /**
@@ -43,6 +74,36 @@ public class TaskController {
         return ResponseEntity.ok(_taskService.createTask(userId, taskCreateModel));
     }
 
+    /**
+     * Пакетное создание задач
+     * param taskCreateModels список моделей данных для создания задач
+     * return список UUID созданных задач в порядке запроса
+     */
+    @PostMapping("batch")
+    public ResponseEntity<List<UUID>> CreateTasks(@RequestBody List<TaskCreateModel> taskCreateModels)
+            throws BadRequestException, KeyNotFoundException {
+
+        UUID userId  = GetUserIdFromSecurityContext();
+
+        // Создание всех задач в одной транзакции пакетными вставками
+        return ResponseEntity.ok(_taskService.createTasks(userId, taskCreateModels));
+    }
+
+    /**
+     * Групповая операция над задачами: завершение, возврат в работу или удаление
+     * param taskBulkModel идентификаторы задач и операция
+     * return результат для каждой задачи: Ok, NotFound или Forbidden
+     */
+    @PostMapping("bulk")
+    public ResponseEntity<TaskBulkResultModel> BulkUpdateTasks(@RequestBody TaskBulkModel taskBulkModel)
+            throws BadRequestException, KeyNotFoundException {
+
+        UUID userId  = GetUserIdFromSecurityContext();
+
+        // Применение операции ко всем задачам пользователя из списка одним запросом
+        return ResponseEntity.ok(_taskService.bulkUpdateTasks(userId, taskBulkModel));
+    }
+
     /**
      * Редактирование существующей задачи
      * param editTaskModel модель редактирования
@@ -51,13 +112,14 @@ public class TaskController {
      */
     @PutMapping("{taskId}")
     @ResponseStatus(code = HttpStatus.OK, reason = "OK")
-    public ResponseEntity<?> EditTask(@RequestBody EditTaskModel editTaskModel, @PathVariable("taskId") UUID taskId)
-            throws BadRequestException, KeyNotFoundException, NotEnoughAccessException {
+    public ResponseEntity<?> EditTask(@RequestBody EditTaskModel editTaskModel, @PathVariable("taskId") UUID taskId,
+                                      @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch)
+            throws BadRequestException, KeyNotFoundException, NotEnoughAccessException, PreconditionFailedException {
 
         UUID userId  = GetUserIdFromSecurityContext();
 
-        // Редактирование задачи
-        _taskService.editTask(taskId, userId, editTaskModel);
+        // Редактирование задачи; при If-Match — только если версия совпадает с одним из ETag (иначе 412)
+        _taskService.editTask(taskId, userId, editTaskModel, ParseIfMatchVersions(ifMatch));
         return ResponseEntity.ok().build();
     }
 
@@ -68,54 +130,248 @@ public class TaskController {
      */
     @DeleteMapping("{taskId}")
     @ResponseStatus(code = HttpStatus.OK, reason = "OK")
-    public ResponseEntity<?> DeleteTask(@PathVariable("taskId") UUID taskId)
-            throws BadRequestException, KeyNotFoundException, NotEnoughAccessException {
+    public ResponseEntity<?> DeleteTask(@PathVariable("taskId") UUID taskId,
+                                        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch)
+            throws BadRequestException, KeyNotFoundException, NotEnoughAccessException, PreconditionFailedException {
 
         UUID userId  = GetUserIdFromSecurityContext();
 
-        // Удаление задачи
-        _taskService.deleteTask(taskId, userId);
+        // Удаление задачи; при If-Match — только если версия совпадает с одним из ETag (иначе 412)
+        _taskService.deleteTask(taskId, userId, ParseIfMatchVersions(ifMatch));
         return ResponseEntity.ok().build();
     }
 
     /**
      * Получение полной информации о задаче
      * param taskId идентификатор задачи
-     * return объект TaskModel с деталями задачи
+     * return объект TaskModel с деталями задачи и ETag с версией задачи,
+     * либо HTTP 304 без тела, если версия совпадает с If-None-Match
      */
     @GetMapping("{taskId}")
-    public ResponseEntity<TaskModel> GetTask(@PathVariable("taskId") UUID taskId)
-            throws BadRequestException, KeyNotFoundException, NotEnoughAccessException {
+    public ResponseEntity<TaskModel> GetTask(@PathVariable("taskId") UUID taskId, NativeWebRequest webRequest)
+            throws BadRequestException, KeyNotFoundException, NotEnoughAccessException, HttpMediaTypeNotAcceptableException {
 
         UUID userId  = GetUserIdFromSecurityContext();
 
         // Получение задачи
-        return ResponseEntity.ok(_taskService.getTask(taskId, userId));
+        VersionedModel<TaskModel> task = _taskService.getVersionedTask(taskId, userId);
+        String eTag = RepresentationETag(Long.toString(task.getVersion()), webRequest);
+
+        // Клиент уже имеет актуальную версию — 304 без сериализации тела
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(task.getModel());
     }
 
     /**
-     * Получение всех задач пользователя, с возможной сортировкой
+     * Получение задач пользователя, с возможной сортировкой и фильтрацией
      * param taskSortModel тип сортировки (опционально)
-     * return список кратких моделей задач
+     * param statuses допустимые статусы (опционально, можно указать несколько)
+     * param priorities допустимые приоритеты (опционально, можно указать несколько)
+     * param deadlineFrom, deadlineTo границы дедлайна включительно в формате yyyy-MM-dd (опционально)
+     * param query подстрока для поиска в заголовке и описании без учёта регистра (опционально)
+     * return список кратких моделей задач и ETag по содержимому списка,
+     * либо HTTP 304 без тела, если список не изменился с If-None-Match
      */
     @GetMapping
-    public ResponseEntity<TaskShortModelList> GetUserTasks(@RequestParam(name = "taskSort", required = false) TaskSortModel taskSortModel)
+    public ResponseEntity<TaskShortModelList> GetUserTasks(@RequestParam(name = "taskSort", required = false) TaskSortModel taskSortModel,
+                                                           @RequestParam(name = "status", required = false) Set<TaskStatus> statuses,
+                                                           @RequestParam(name = "priority", required = false) Set<TaskPriority> priorities,
+                                                           @RequestParam(name = "deadlineFrom", required = false)
+                                                           @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate deadlineFrom,
+                                                           @RequestParam(name = "deadlineTo", required = false)
+                                                           @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate deadlineTo,
+                                                           @RequestParam(name = "q", required = false) String query,
+                                                           NativeWebRequest webRequest)
+            throws BadRequestException, KeyNotFoundException, HttpMediaTypeNotAcceptableException {
+
+        UUID userId  = GetUserIdFromSecurityContext();
+
+        // Получение задач пользователя с учётом фильтра и сортировки; без фильтра список берётся из кэша
+        TaskFilterModel taskFilterModel = new TaskFilterModel(statuses, priorities, deadlineFrom, deadlineTo, query);
+        VersionedModel<TaskShortModelList> tasks = _taskService.getFilteredUserTasks(userId, taskSortModel, taskFilterModel);
+        String eTag = RepresentationETag(Long.toHexString(tasks.getVersion()), webRequest);
+
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(tasks.getModel());
+    }
+
+    /**
+     * Сводные счётчики задач пользователя: по статусам, по приоритетам со статусами,
+     * а также количество активных задач со сроком сегодня и до конца недели
+     */
+    @GetMapping("stats")
+    public ResponseEntity<TaskStatsModel> GetUserTasksStats() throws KeyNotFoundException {
+
+        UUID userId  = GetUserIdFromSecurityContext();
+
+        // Счётчики вычисляются агрегирующими запросами в БД
+        return ResponseEntity.ok(_taskService.getUserTasksStats(userId));
+    }
+
+    /**
+     * Постраничное получение задач пользователя (включается параметром pageSize)
+     * param taskSortModel тип сортировки (опционально, по умолчанию — по убыванию времени создания)
+     * param pageSize размер страницы
+     * param cursor курсор следующей страницы из предыдущего ответа (опционально)
+     * return страница кратких моделей задач и курсор следующей страницы
+     */
+    @GetMapping(params = "pageSize")
+    public ResponseEntity<TaskShortModelPage> GetUserTasksPage(@RequestParam(name = "taskSort", required = false) TaskSortModel taskSortModel,
+                                                               @RequestParam(name = "pageSize") int pageSize,
+                                                               @RequestParam(name = "cursor", required = false) String cursor,
+                                                               WebRequest webRequest)
             throws BadRequestException, KeyNotFoundException {
 
         UUID userId  = GetUserIdFromSecurityContext();
 
-        // Получение всех задач пользователя с учётом сортировки
-        return ResponseEntity.ok(_taskService.getUserTasks(userId, taskSortModel));
+        // Страницы строятся без фильтра — запрос с фильтром отклоняется, а не возвращает неотфильтрованные задачи
+        RejectFilterParams(webRequest, "pageSize");
+
+        // Получение одной страницы задач, отсортированной на стороне БД
+        return ResponseEntity.ok(_taskService.getUserTasksPage(userId, taskSortModel, pageSize, cursor));
+    }
+
+    /**
+     * Инкрементальная синхронизация списка задач (включается параметром since)
+     * param since токен синхронизации из предыдущего ответа; пустое значение — первая синхронизация
+     * return созданные/изменённые задачи, идентификаторы удалённых задач и новый токен
+     */
+    @GetMapping(params = {"since", "!pageSize"})
+    public ResponseEntity<TaskDeltaModel> GetUserTasksDelta(@RequestParam(name = "since") String since,
+                                                            WebRequest webRequest)
+            throws BadRequestException, KeyNotFoundException {
+
+        UUID userId  = GetUserIdFromSecurityContext();
+
+        // Синхронизация всегда охватывает все задачи пользователя
+        RejectFilterParams(webRequest, "since");
+
+        // Получение изменений с момента прошлой синхронизации
+        return ResponseEntity.ok(_taskService.getUserTasksDelta(userId, since));
+    }
+
+    /**
+     * Потоковая выгрузка всех задач пользователя (NDJSON, одна задача на строку)
+     * Задачи пишутся в ответ по мере чтения из БД, без построения списка в памяти
+     */
+    @GetMapping("stream")
+    public void ExportUserTasks(HttpServletResponse response)
+            throws IOException, KeyNotFoundException {
+
+        UUID userId  = GetUserIdFromSecurityContext();
+
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+        // Выгрузка задач напрямую в поток ответа
+        _taskService.exportUserTasks(userId, response.getOutputStream());
+    }
+
+    /**
+     * Вспомогательный метод, добавляющий к ETag формат ответа
+     * Одно содержимое в JSON, CBOR и Smile — разные представления, поэтому у двоичных форматов
+     * свой сильный ETag (суффикс -cbor / -smile), а JSON (в том числе для Accept с подстановочным типом) сохраняет прежний.
+     * Форматы проверяются в порядке предпочтения клиента, как при выборе конвертера
+     */
+    private String RepresentationETag(String eTag, NativeWebRequest webRequest) throws HttpMediaTypeNotAcceptableException {
+        for (MediaType mediaType : _contentNegotiationManager.resolveMediaTypes(webRequest)) {
+            if (mediaType.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                return eTag;
+            }
+            if (mediaType.isCompatibleWith(MediaType.APPLICATION_CBOR)) {
+                return eTag + "-cbor";
+            }
+            if (mediaType.isCompatibleWith(APPLICATION_SMILE)) {
+                return eTag + "-smile";
+            }
+        }
+        return eTag;
+    }
+
+    /**
+     * Вспомогательный метод, отклоняющий параметры фильтра там, где фильтрация не поддерживается
+     * throws BadRequestException если передан хотя бы один параметр фильтра
+     */
+    private void RejectFilterParams(WebRequest webRequest, String mode) throws BadRequestException {
+        for (String name : FILTER_PARAMS) {
+            if (webRequest.getParameter(name) != null) {
+                throw new BadRequestException("Filter parameter '" + name + "' cannot be combined with " + mode);
+            }
+        }
+    }
+
+    /**
+     * Вспомогательный метод для разбора версий задачи из заголовка If-Match (RFC 9110, 13.1.1):
+     * список ETag через запятую, условие выполнено, если текущая версия совпадает с любым из них.
+     * Слабые ETag (W/) принимаются только потому, что Tomcat при gzip-сжатии заменяет наш сильный
+     * ETag слабым (HttpCompressionConfiguration) и клиент возвращает именно его.
+     * ETag, не являющиеся версией задачи, ни с чем не совпадают и пропускаются
+     * return множество версий (пустое — ни одна версия не подходит) или null, если заголовок
+     * не передан или равен "*"
+     * throws BadRequestException если заголовок не является списком ETag
+     */
+    private Set<Long> ParseIfMatchVersions(String ifMatch) throws BadRequestException {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+
+        Set<Long> versions = new HashSet<>();
+        int position = 0;
+        while (position < ifMatch.length()) {
+            char current = ifMatch.charAt(position);
+            // Пустые элементы списка и пробелы вокруг запятых допускаются
+            if (current == ',' || current == ' ' || current == '\t') {
+                position++;
+                continue;
+            }
+            if (ifMatch.startsWith("W/", position)) {
+                position += 2;
+            }
+            // opaque-tag — строка в кавычках, внутри которой допустимы запятые
+            int closingQuote = ifMatch.indexOf('"', position + 1);
+            if (position >= ifMatch.length() || ifMatch.charAt(position) != '"' || closingQuote < 0) {
+                throw new BadRequestException("If-Match header is invalid");
+            }
+            Long version = ParseETagVersion(ifMatch.substring(position + 1, closingQuote));
+            if (version != null) {
+                versions.add(version);
+            }
+            position = closingQuote + 1;
+        }
+        return versions;
+    }
+
+    // Версия из значения ETag; ETag представлений CBOR и Smile содержит суффикс формата (RepresentationETag)
+    private static Long ParseETagVersion(String eTag) {
+        int suffix = eTag.indexOf('-');
+        if (suffix >= 0) {
+            eTag = eTag.substring(0, suffix);
+        }
+
+        try {
+            return Long.parseLong(eTag);
+        } catch (NumberFormatException e) {
+            return null;
+        }
     }
 
     /**
      * Вспомогательный метод для извлечения ID текущего пользователя
      * из Spring SecurityContext
+     * Principal может быть готовым UUID либо строкой с идентификатором
      */
     private UUID GetUserIdFromSecurityContext() {
-        return UUID.fromString((String)
-                SecurityContextHolder.getContext()
-                        .getAuthentication()
-                        .getPrincipal());
+        Object principal = SecurityContextHolder.getContext()
+                .getAuthentication()
+                .getPrincipal();
+
+        if (principal instanceof UUID userId) {
+            return userId;
+        }
+        return UUID.fromString((String) principal);
     }
 }
@@ -0,0 +1,42 @@
+package ToDoList.Application.Repositories.ModelsDTO.Task;
+
+import java.util.List;
+import java.util.UUID;
+
+public class TaskDeltaModel {
+
+    // Задачи, созданные или изменённые с момента прошлой синхронизации
+    private List<TaskShortModel> changed;
+
+    // Идентификаторы задач, удалённых с момента прошлой синхронизации
+    private List<UUID> deleted;
+
+    // Токен для следующего запроса синхронизации
+    private String syncToken;
+
+    // true — в changed полный список задач, локальную копию нужно заменить целиком
+    private boolean fullResync;
+
+    public TaskDeltaModel(List<TaskShortModel> changed, List<UUID> deleted, String syncToken, boolean fullResync) {
+        this.changed = changed;
+        this.deleted = deleted;
+        this.syncToken = syncToken;
+        this.fullResync = fullResync;
+    }
+
+    public List<TaskShortModel> getChanged() {
+        return changed;
+    }
+
+    public List<UUID> getDeleted() {
+        return deleted;
+    }
+
+    public String getSyncToken() {
+        return syncToken;
+    }
+
+    public boolean isFullResync() {
+        return fullResync;
+    }
+}
@@ -0,0 +1,61 @@
+package ToDoList.Application.Repositories.ModelsDTO.Task;
+
+import ToDoList.Domain.Enums.TaskPriority;
+import ToDoList.Domain.Enums.TaskStatus;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+public class TaskFilterModel {
+
+    // Допустимые статусы, пустой набор или null — любой статус
+    private Set<TaskStatus> statuses;
+
+    // Допустимые приоритеты, пустой набор или null — любой приоритет
+    private Set<TaskPriority> priorities;
+
+    // Границы дедлайна включительно, null — без ограничения; задачи без дедлайна при заданной границе не попадают
+    private LocalDate deadlineFrom;
+    private LocalDate deadlineTo;
+
+    // Подстрока для поиска в заголовке и описании без учёта регистра, null — без поиска
+    private String query;
+
+    public TaskFilterModel(Set<TaskStatus> statuses, Set<TaskPriority> priorities,
+                           LocalDate deadlineFrom, LocalDate deadlineTo, String query) {
+        this.statuses = statuses;
+        this.priorities = priorities;
+        this.deadlineFrom = deadlineFrom;
+        this.deadlineTo = deadlineTo;
+        this.query = query;
+    }
+
+    public Set<TaskStatus> getStatuses() {
+        return statuses;
+    }
+
+    public Set<TaskPriority> getPriorities() {
+        return priorities;
+    }
+
+    public LocalDate getDeadlineFrom() {
+        return deadlineFrom;
+    }
+
+    public LocalDate getDeadlineTo() {
+        return deadlineTo;
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    // true — ни одно условие не задано, подходит любая задача
+    public boolean isEmpty() {
+        return (statuses == null || statuses.isEmpty())
+                && (priorities == null || priorities.isEmpty())
+                && deadlineFrom == null
+                && deadlineTo == null
+                && (query == null || query.isBlank());
+    }
+}
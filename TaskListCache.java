@@ -0,0 +1,104 @@
+package ToDoList.Infrastructure.Caches;
+
+import ToDoList.Application.Repositories.ModelsDTO.Enums.TaskSortModel;
+import ToDoList.Application.Repositories.ModelsDTO.Task.TaskShortModel;
+import ToDoList.Application.Repositories.ModelsDTO.Task.TaskShortModelList;
+import ToDoList.Application.Repositories.ModelsDTO.VersionedModel;
+import ToDoList.Domain.Services.TaskListFingerprint;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Кэш списков задач пользователей по ключу (пользователь, сортировка)
+ * Ограничен суммарным количеством задач во всех списках и временем жизни записи.
+ * Метрики попаданий, промахов и вытеснений публикуются под именем taskLists
+ */
+@Component
+public class TaskListCache {
+
+    // Все варианты сортировки, включая её отсутствие, — для сброса всех списков пользователя
+    private static final TaskSortModel[] SORT_KEYS = sortKeys();
+
+    private final Cache<Key, Entry> _cache;
+
+    public TaskListCache(@Value("${tasks.list-cache.max-tasks:1000000}") long maxTasks,
+                         @Value("${tasks.list-cache.ttl:5m}") Duration ttl,
+                         MeterRegistry meterRegistry) {
+        _cache = Caffeine.newBuilder()
+                .maximumWeight(maxTasks)
+                .weigher((Key key, Entry entry) -> entry.size() + 1)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, _cache, "taskLists");
+    }
+
+    /**
+     * Получение списка задач пользователя вместе с отпечатком его содержимого
+     * param loader загрузка отсортированного списка из БД при промахе
+     * Загрузка выполняется атомарно для ключа: сброс, пришедший во время загрузки, дождётся её и удалит результат.
+     * Отпечаток считается один раз при загрузке, поэтому ETag для попаданий в кэш ничего не стоит
+     */
+    public VersionedModel<TaskShortModelList> get(UUID userId, TaskSortModel taskSortModel,
+                                                  Supplier<List<TaskShortModel>> loader) {
+        return _cache.get(new Key(userId, taskSortModel), key -> {
+            List<TaskShortModel> tasks = loader.get();
+            return new Entry(new VersionedModel<>(new TaskShortModelList(tasks), TaskListFingerprint.of(tasks)), tasks.size());
+        }).list();
+    }
+
+    /**
+     * Сброс всех списков пользователя после изменения его задач
+     * Внутри транзакции сброс повторяется после коммита, чтобы параллельное чтение
+     * не успело положить в кэш данные, прочитанные до коммита
+     */
+    public void invalidateUser(UUID userId) {
+        evictUser(userId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictUser(userId);
+                }
+            });
+        }
+    }
+
+    // Сброс всего кэша (массовые изменения у многих пользователей)
+    public void invalidateAll() {
+        _cache.invalidateAll();
+    }
+
+    private void evictUser(UUID userId) {
+        for (TaskSortModel taskSortModel : SORT_KEYS) {
+            _cache.invalidate(new Key(userId, taskSortModel));
+        }
+    }
+
+    private static TaskSortModel[] sortKeys() {
+        TaskSortModel[] values = TaskSortModel.values();
+        TaskSortModel[] keys = new TaskSortModel[values.length + 1];
+        System.arraycopy(values, 0, keys, 0, values.length);
+        return keys;
+    }
+
+    private record Key(UUID userId, TaskSortModel taskSortModel) {
+    }
+
+    // Размер списка хранится рядом с ним для расчёта веса записи
+    private record Entry(VersionedModel<TaskShortModelList> list, int size) {
+    }
+}
@@ -0,0 +1,38 @@
+package ToDoList.Domain.Services;
+
+import ToDoList.Application.Repositories.ModelsDTO.Task.TaskShortModel;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 64-битный отпечаток содержимого списка задач, используется как версия списка для ETag
+ * Меняется при создании, удалении, изменении задачи и при смене порядка списка
+ */
+public final class TaskListFingerprint {
+
+    private TaskListFingerprint() {
+    }
+
+    public static long of(List<TaskShortModel> tasks) {
+        long hash = tasks.size();
+        for (TaskShortModel task : tasks) {
+            hash = mix(hash, task.getId().getMostSignificantBits());
+            hash = mix(hash, task.getId().getLeastSignificantBits());
+            hash = mix(hash, Objects.hashCode(task.getTitle()));
+            hash = mix(hash, task.getDeadline() == null ? Long.MIN_VALUE : task.getDeadline().toEpochDay());
+            hash = mix(hash, task.getPriority() == null ? -1 : task.getPriority().ordinal());
+            hash = mix(hash, task.getStatus() == null ? -1 : task.getStatus().ordinal());
+            hash = mix(hash, task.getCreateTime() == null ? 0 : task.getCreateTime().getTime());
+        }
+        return hash;
+    }
+
+    // Перемешивание по схеме splitmix64
+    private static long mix(long hash, long value) {
+        long z = hash * 0x9E3779B97F4A7C15L + value;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,81 @@
+package ToDoList.Benchmarks;
+
+import ToDoList.Application.Repositories.ModelsDTO.Task.TaskShortModelList;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Время сериализации списка задач в JSON, CBOR и Smile, без сжатия и с gzip
+ * Размер ответа для каждого сочетания параметров вычисляется один раз при подготовке и печатается после замеров
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class TaskListSerializationBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int size;
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    @Param({"false", "true"})
+    public boolean gzip;
+
+    private ObjectMapper _objectMapper;
+    private TaskShortModelList _list;
+    private int _payloadBytes;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        _list = new TaskShortModelList(BenchmarkData.shortModels(BenchmarkData.tasks(new UUID(1, 1), size, 42)));
+
+        JsonFactory factory;
+        switch (format) {
+            case "cbor":
+                factory = new CBORFactory();
+                break;
+            case "smile":
+                factory = new SmileFactory();
+                break;
+            default:
+                factory = new JsonFactory();
+        }
+        // Настройки дат как у Spring Boot по умолчанию
+        _objectMapper = new ObjectMapper(factory)
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        _payloadBytes = serialize().length;
+    }
+
+    // Вывод после всех итераций, чтобы не смешиваться с выводом замеров
+    @TearDown(Level.Trial)
+    public void reportPayloadSize() {
+        System.out.printf("%n%s%s, %d tasks: %d bytes%n", format, gzip ? "+gzip" : "", size, _payloadBytes);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = gzip ? new GZIPOutputStream(bytes) : bytes) {
+            _objectMapper.writeValue(out, _list);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,46 @@
+package ToDoList.Domain.Services;
+
+import ToDoList.Domain.Enums.TaskStatus;
+import ToDoList.Infrastructure.Caches.TaskListCache;
+import ToDoList.Infrastructure.PostgreDB.Repositories.TaskRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Calendar;
+
+/**
+ * Фоновый перевод активных задач с прошедшим дедлайном в статус Overdue
+ * Выполняется при старте приложения и далее по расписанию (по умолчанию — каждый час)
+ */
+@Component
+public class TaskOverdueSweeper {
+
+    private static final Logger _logger = LoggerFactory.getLogger(TaskOverdueSweeper.class);
+
+    private TaskRepository _taskRepository;
+    private TaskListCache _taskListCache;
+
+    public TaskOverdueSweeper(TaskRepository taskRepository, TaskListCache taskListCache) {
+        _taskRepository = taskRepository;
+        _taskListCache = taskListCache;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${tasks.overdue-sweeper.cron:0 0 * * * *}")
+    public void sweep() {
+        int updated = _taskRepository.updateStatusWhereDeadlineBefore(TaskStatus.Active, TaskStatus.Overdue,
+                LocalDate.now(), Calendar.getInstance().getTime());
+
+        // Статусы сменились у заранее неизвестного набора пользователей. Кэш сбрасывается и при
+        // updated == 0: при нескольких экземплярах задачи мог перевести другой экземпляр
+        _taskListCache.invalidateAll();
+        if (updated > 0) {
+            _logger.info("Marked {} tasks as overdue", updated);
+        }
+    }
+}
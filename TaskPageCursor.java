@@ -0,0 +1,93 @@
+package ToDoList.Domain.Services.Pagination;
+
+import ToDoList.Application.Repositories.ModelsDTO.Enums.TaskSortModel;
+import ToDoList.Application.Repositories.ModelsDTO.Task.TaskShortModel;
+import org.apache.coyote.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Курсор keyset-пагинации: позиция последней отданной задачи в выбранной сортировке.
+ * Клиенту передаётся в виде непрозрачной base64url-строки "сортировка:ключ:id".
+ */
+public class TaskPageCursor {
+
+    private static final String NULL_KEY = "null";
+
+    private final TaskSortModel taskSortModel;
+    private final Date createTime;
+    private final LocalDate deadline;
+    private final UUID id;
+
+    private TaskPageCursor(TaskSortModel taskSortModel, Date createTime, LocalDate deadline, UUID id) {
+        this.taskSortModel = taskSortModel;
+        this.createTime = createTime;
+        this.deadline = deadline;
+        this.id = id;
+    }
+
+    // Курсор, указывающий на переданную задачу
+    public static TaskPageCursor of(TaskSortModel taskSortModel, TaskShortModel task) {
+        return new TaskPageCursor(taskSortModel, task.getCreateTime(), task.getDeadline(), task.getId());
+    }
+
+    public Date getCreateTime() {
+        return createTime;
+    }
+
+    public LocalDate getDeadline() {
+        return deadline;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public String encode() {
+        String key;
+        if (isDeadlineSort(taskSortModel)) {
+            key = deadline == null ? NULL_KEY : Long.toString(deadline.toEpochDay());
+        } else {
+            key = Long.toString(createTime.getTime());
+        }
+
+        String raw = taskSortModel.name() + ":" + key + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Разбор курсора, полученного от клиента
+     * param cursor строка курсора
+     * param taskSortModel сортировка текущего запроса (должна совпадать с сортировкой курсора)
+     * throws BadRequestException если курсор повреждён или выдан для другой сортировки
+     */
+    public static TaskPageCursor decode(String cursor, TaskSortModel taskSortModel) throws BadRequestException {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":");
+
+            if (parts.length != 3 || !parts[0].equals(taskSortModel.name())) {
+                throw new BadRequestException("Cursor does not match task sort");
+            }
+
+            UUID id = UUID.fromString(parts[2]);
+
+            if (isDeadlineSort(taskSortModel)) {
+                LocalDate deadline = parts[1].equals(NULL_KEY) ? null : LocalDate.ofEpochDay(Long.parseLong(parts[1]));
+                return new TaskPageCursor(taskSortModel, null, deadline, id);
+            }
+            return new TaskPageCursor(taskSortModel, new Date(Long.parseLong(parts[1])), null, id);
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new BadRequestException("Cursor is invalid");
+        }
+    }
+
+    private static boolean isDeadlineSort(TaskSortModel taskSortModel) {
+        return taskSortModel == TaskSortModel.AscDeadline || taskSortModel == TaskSortModel.DescDeadline;
+    }
+}
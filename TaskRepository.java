@@ -0,0 +1,204 @@
+package ToDoList.Infrastructure.PostgreDB.Repositories;
+
+import ToDoList.Application.Repositories.ModelsDTO.Task.TaskShortModel;
+import ToDoList.Domain.Entities.Task.Task;
+import ToDoList.Domain.Enums.TaskPriority;
+import ToDoList.Domain.Enums.TaskStatus;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+@Repository
+public interface TaskRepository extends JpaRepository<Task, UUID>, JpaSpecificationExecutor<Task>,
+        TaskShortModelQueries {
+
+    // Выборка только полей краткой модели задачи: без описания, без сущностей в контексте персистентности
+    String SHORT_MODEL_SELECT = "select new ToDoList.Application.Repositories.ModelsDTO.Task.TaskShortModel(" +
+            "t.id, t.title, t.deadline, t.priority, t.status, t.createTime) from Task t ";
+
+    // Идентификатор текущей транзакции PostgreSQL в виде bigint; присваивается change_id в каждом UPDATE задач
+    String CURRENT_CHANGE_ID = "cast(cast(function('pg_current_xact_id') as String) as Long)";
+
+    List<Task> findByUserId(UUID userId);
+
+    // Краткие модели всех задач пользователя (индекс user_id, create_time, id)
+    @Query(SHORT_MODEL_SELECT + "where t.userId = :userId")
+    List<TaskShortModel> findShortModelsByUserId(@Param("userId") UUID userId);
+
+    // Точка синхронизации: xmin текущего снимка — все транзакции с меньшим идентификатором уже завершены,
+    // а изменения остальных будут иметь change_id не меньше неё
+    @Query(value = "select cast(cast(pg_snapshot_xmin(pg_current_snapshot()) as text) as bigint)", nativeQuery = true)
+    long currentSyncPoint();
+
+    // Задачи пользователя, созданные или изменённые транзакциями начиная с точки синхронизации
+    // (индекс user_id, change_id)
+    @Query(SHORT_MODEL_SELECT + "where t.userId = :userId and t.changeId >= :changeId")
+    List<TaskShortModel> findChangedSince(@Param("userId") UUID userId, @Param("changeId") long changeId);
+
+    // Изменение задачи с проверкой владельца и версии (одна из versions, при anyVersion — любая)
+    // в том же запросе, возвращает число изменённых строк
+    @Transactional
+    @Modifying
+    @Query("update Task t set t.title = :title, t.description = :description, t.deadline = :deadline, " +
+            "t.priority = :priority, t.status = :status, t.updateTime = :updateTime, t.version = t.version + 1, " +
+            "t.changeId = " + CURRENT_CHANGE_ID + " " +
+            "where t.id = :id and t.userId = :userId and (:anyVersion = true or t.version in :versions)")
+    int updateByIdAndUserId(@Param("id") UUID id, @Param("userId") UUID userId,
+                            @Param("anyVersion") boolean anyVersion, @Param("versions") Collection<Long> versions,
+                            @Param("title") String title, @Param("description") String description,
+                            @Param("deadline") LocalDate deadline, @Param("priority") TaskPriority priority,
+                            @Param("status") TaskStatus status, @Param("updateTime") Date updateTime);
+
+    // Удаление задачи с проверкой владельца и версии (одна из versions, при anyVersion — любая)
+    // в том же запросе, возвращает число удалённых строк
+    @Transactional
+    @Modifying
+    @Query("delete from Task t where t.id = :id and t.userId = :userId and (:anyVersion = true or t.version in :versions)")
+    int deleteByIdAndUserId(@Param("id") UUID id, @Param("userId") UUID userId,
+                            @Param("anyVersion") boolean anyVersion, @Param("versions") Collection<Long> versions);
+
+    // Владельцы задач из списка с блокировкой строк до конца транзакции (отсутствующие задачи в результат
+    // не попадают): параллельное изменение или удаление этих задач ждёт, поэтому групповая операция затрагивает
+    // ровно найденные задачи. Строки блокируются в порядке id, чтобы пересекающиеся операции не взаимоблокировались
+    @Query(value = "select t.id as \"id\", t.user_id as \"userId\" from tasks t where t.id in (:ids) order by t.id for update",
+            nativeQuery = true)
+    List<TaskOwner> lockOwnersByIdIn(@Param("ids") Collection<UUID> ids);
+
+    // Смена статуса группы задач пользователя одним UPDATE: задачам с прошедшим дедлайном
+    // присваивается pastDeadlineStatus, остальным — status
+    @Transactional
+    @Modifying
+    @Query("update Task t set t.status = case when t.deadline < :today then :pastDeadlineStatus else :status end, " +
+            "t.updateTime = :updateTime, t.version = t.version + 1, " +
+            "t.changeId = " + CURRENT_CHANGE_ID + " " +
+            "where t.userId = :userId and t.id in :ids")
+    int updateStatusByIdInAndUserId(@Param("ids") Collection<UUID> ids, @Param("userId") UUID userId,
+                                    @Param("status") TaskStatus status,
+                                    @Param("pastDeadlineStatus") TaskStatus pastDeadlineStatus,
+                                    @Param("today") LocalDate today, @Param("updateTime") Date updateTime);
+
+    // Удаление группы задач пользователя одним DELETE
+    @Transactional
+    @Modifying
+    @Query("delete from Task t where t.userId = :userId and t.id in :ids")
+    int deleteByIdInAndUserId(@Param("ids") Collection<UUID> ids, @Param("userId") UUID userId);
+
+    // Keyset-пагинация по времени создания (индекс user_id, create_time, id)
+
+    @Query(SHORT_MODEL_SELECT + "where t.userId = :userId order by t.createTime asc, t.id asc")
+    List<TaskShortModel> findByUserIdOrderByCreateTimeAscIdAsc(@Param("userId") UUID userId, Pageable pageable);
+
+    @Query(SHORT_MODEL_SELECT + "where t.userId = :userId " +
+            "and (t.createTime > :createTime or (t.createTime = :createTime and t.id > :id)) " +
+            "order by t.createTime asc, t.id asc")
+    List<TaskShortModel> findPageAfterAscCreateTime(@Param("userId") UUID userId, @Param("createTime") Date createTime,
+                                                    @Param("id") UUID id, Pageable pageable);
+
+    @Query(SHORT_MODEL_SELECT + "where t.userId = :userId order by t.createTime desc, t.id desc")
+    List<TaskShortModel> findByUserIdOrderByCreateTimeDescIdDesc(@Param("userId") UUID userId, Pageable pageable);
+
+    @Query(SHORT_MODEL_SELECT + "where t.userId = :userId " +
+            "and (t.createTime < :createTime or (t.createTime = :createTime and t.id < :id)) " +
+            "order by t.createTime desc, t.id desc")
+    List<TaskShortModel> findPageAfterDescCreateTime(@Param("userId") UUID userId, @Param("createTime") Date createTime,
+                                                     @Param("id") UUID id, Pageable pageable);
+
+    // Keyset-пагинация по дедлайну (индекс user_id, deadline, id).
+    // Задачи без дедлайна идут в конце списка отдельной группой, упорядоченной по id
+
+    @Query(SHORT_MODEL_SELECT + "where t.userId = :userId and t.deadline is not null order by t.deadline asc, t.id asc")
+    List<TaskShortModel> findByUserIdAndDeadlineIsNotNullOrderByDeadlineAscIdAsc(@Param("userId") UUID userId, Pageable pageable);
+
+    @Query(SHORT_MODEL_SELECT + "where t.userId = :userId " +
+            "and (t.deadline > :deadline or (t.deadline = :deadline and t.id > :id)) " +
+            "order by t.deadline asc, t.id asc")
+    List<TaskShortModel> findPageAfterAscDeadline(@Param("userId") UUID userId, @Param("deadline") LocalDate deadline,
+                                                  @Param("id") UUID id, Pageable pageable);
+
+    @Query(SHORT_MODEL_SELECT + "where t.userId = :userId and t.deadline is not null order by t.deadline desc, t.id desc")
+    List<TaskShortModel> findByUserIdAndDeadlineIsNotNullOrderByDeadlineDescIdDesc(@Param("userId") UUID userId, Pageable pageable);
+
+    @Query(SHORT_MODEL_SELECT + "where t.userId = :userId " +
+            "and (t.deadline < :deadline or (t.deadline = :deadline and t.id < :id)) " +
+            "order by t.deadline desc, t.id desc")
+    List<TaskShortModel> findPageAfterDescDeadline(@Param("userId") UUID userId, @Param("deadline") LocalDate deadline,
+                                                   @Param("id") UUID id, Pageable pageable);
+
+    @Query(SHORT_MODEL_SELECT + "where t.userId = :userId and t.deadline is null order by t.id asc")
+    List<TaskShortModel> findByUserIdAndDeadlineIsNullOrderByIdAsc(@Param("userId") UUID userId, Pageable pageable);
+
+    @Query(SHORT_MODEL_SELECT + "where t.userId = :userId and t.deadline is null and t.id > :id order by t.id asc")
+    List<TaskShortModel> findByUserIdAndDeadlineIsNullAndIdGreaterThanOrderByIdAsc(@Param("userId") UUID userId,
+                                                                                   @Param("id") UUID id, Pageable pageable);
+
+    @Query(SHORT_MODEL_SELECT + "where t.userId = :userId and t.deadline is null order by t.id desc")
+    List<TaskShortModel> findByUserIdAndDeadlineIsNullOrderByIdDesc(@Param("userId") UUID userId, Pageable pageable);
+
+    @Query(SHORT_MODEL_SELECT + "where t.userId = :userId and t.deadline is null and t.id < :id order by t.id desc")
+    List<TaskShortModel> findByUserIdAndDeadlineIsNullAndIdLessThanOrderByIdDesc(@Param("userId") UUID userId,
+                                                                                 @Param("id") UUID id, Pageable pageable);
+
+    // Потоковое чтение задач пользователя серверным курсором, без материализации всего списка.
+    // Должно вызываться внутри транзакции, поток необходимо закрыть
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    @Query(SHORT_MODEL_SELECT + "where t.userId = :userId order by t.createTime asc, t.id asc")
+    Stream<TaskShortModel> streamByUserId(@Param("userId") UUID userId);
+
+    // Количество задач пользователя в каждом сочетании приоритета и статуса (индекс user_id, status)
+    @Query("select t.priority as priority, t.status as status, count(t) as count from Task t " +
+            "where t.userId = :userId group by t.priority, t.status")
+    List<PriorityStatusCount> countByPriorityAndStatus(@Param("userId") UUID userId);
+
+    // Количество задач в указанном статусе с дедлайном в день from и в диапазоне from..to
+    // одним проходом по индексу user_id, deadline
+    @Query("select sum(case when t.deadline = :from then 1 else 0 end) as dueOnFrom, count(t) as dueInRange " +
+            "from Task t where t.userId = :userId and t.status = :status and t.deadline between :from and :to")
+    DueCount countDue(@Param("userId") UUID userId, @Param("status") TaskStatus status,
+                      @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // Перевод активных задач с прошедшим дедлайном в указанный статус одним UPDATE (индекс status, deadline)
+    @Transactional
+    @Modifying
+    @Query("update Task t set t.status = :newStatus, t.updateTime = :updateTime, t.version = t.version + 1, " +
+            "t.changeId = " + CURRENT_CHANGE_ID + " " +
+            "where t.status = :status and t.deadline < :today")
+    int updateStatusWhereDeadlineBefore(@Param("status") TaskStatus status, @Param("newStatus") TaskStatus newStatus,
+                                        @Param("today") LocalDate today, @Param("updateTime") Date updateTime);
+
+    // Проекции результатов запросов (поля сопоставляются по псевдонимам в select)
+
+    interface TaskOwner {
+        UUID getId();
+
+        UUID getUserId();
+    }
+
+    interface PriorityStatusCount {
+        TaskPriority getPriority();
+
+        TaskStatus getStatus();
+
+        long getCount();
+    }
+
+    interface DueCount {
+        // sum по пустой выборке возвращает null
+        Long getDueOnFrom();
+
+        long getDueInRange();
+    }
+}
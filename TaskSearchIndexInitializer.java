@@ -0,0 +1,58 @@
+package ToDoList.Infrastructure.PostgreDB.Configurations;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Создание триграммных GIN-индексов для поиска по подстроке в заголовке и описании задач
+ * JPA @Index не умеет описывать индексы GIN с классом операторов, поэтому они создаются при старте.
+ * Индексы строятся с concurrently (вне транзакции, JdbcTemplate работает в режиме auto-commit), чтобы
+ * первое построение на большой таблице не блокировало запись задач. Прерванное построение оставляет
+ * недействительный индекс, который if not exists пропустил бы, — такой индекс удаляется и строится заново.
+ * Если расширение pg_trgm недоступно (нет прав), поиск работает без индекса, о чём пишется в лог
+ */
+@Component
+@ConditionalOnProperty(name = "tasks.search.trigram-indexes", havingValue = "true", matchIfMissing = true)
+public class TaskSearchIndexInitializer {
+
+    private static final Logger _logger = LoggerFactory.getLogger(TaskSearchIndexInitializer.class);
+
+    private static final String CREATE_EXTENSION = "create extension if not exists pg_trgm";
+
+    // Имя индекса и выражение, по которому он строится
+    private static final String[][] INDEXES = {
+            {"ix_tasks_title_trgm", "gin (lower(title) gin_trgm_ops)"},
+            {"ix_tasks_description_trgm", "gin (lower(description) gin_trgm_ops)"}
+    };
+
+    private static final String IS_INVALID =
+            "select count(*) from pg_class c join pg_index i on i.indexrelid = c.oid where c.relname = ? and not i.indisvalid";
+
+    private JdbcTemplate _jdbcTemplate;
+
+    public TaskSearchIndexInitializer(JdbcTemplate jdbcTemplate) {
+        _jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createIndexes() {
+        try {
+            _jdbcTemplate.execute(CREATE_EXTENSION);
+            for (String[] index : INDEXES) {
+                Integer invalid = _jdbcTemplate.queryForObject(IS_INVALID, Integer.class, index[0]);
+                if (invalid != null && invalid > 0) {
+                    _jdbcTemplate.execute("drop index concurrently if exists " + index[0]);
+                }
+                _jdbcTemplate.execute("create index concurrently if not exists " + index[0] + " on tasks using " + index[1]);
+            }
+        } catch (DataAccessException e) {
+            _logger.warn("Trigram search indexes were not created, text search will scan user tasks", e);
+        }
+    }
+}
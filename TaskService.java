@@ -2,6 +2,8 @@ package ToDoList.Domain.Services;
 
 import ToDoList.Application.Exceptions.CustomExceptions.KeyNotFoundException;
 import ToDoList.Application.Exceptions.CustomExceptions.NotEnoughAccessException;
+import ToDoList.Application.Exceptions.CustomExceptions.PreconditionFailedException;
+import ToDoList.Application.Repositories.ModelsDTO.Enums.TaskBulkOutcomeModel;
 import ToDoList.Application.Repositories.ModelsDTO.Enums.TaskSortModel;
 import ToDoList.Application.Repositories.ModelsDTO.Enums.UserTaskStatusModel;
 import ToDoList.Application.Repositories.ModelsDTO.Task.*;
@@ -9,215 +11,364 @@ import ToDoList.Application.Repositories.ModelsDTO.Task.TaskShortModelComparator
 import ToDoList.Application.Repositories.ModelsDTO.Task.TaskShortModelComparators.TaskShortModelAscDeadlineComparator;
 import ToDoList.Application.Repositories.ModelsDTO.Task.TaskShortModelComparators.TaskShortModelDescCreateTimeComparator;
 import ToDoList.Application.Repositories.ModelsDTO.Task.TaskShortModelComparators.TaskShortModelDescDeadlineComparator;
+import ToDoList.Application.Repositories.ModelsDTO.VersionedModel;
 import ToDoList.Application.Services.Interfaces.Task.ITaskService;
 import ToDoList.Domain.Entities.Task.Task;
-import ToDoList.Domain.Entities.User.User;
+import ToDoList.Domain.Entities.Task.TaskTombstone;
 import ToDoList.Domain.Enums.TaskPriority;
 import ToDoList.Domain.Enums.TaskStatus;
+import ToDoList.Domain.Services.Pagination.TaskPageCursor;
+import ToDoList.Domain.Services.Pagination.TaskSyncToken;
+import ToDoList.Domain.Services.TitleMacros.TaskTitleMacroParser;
+import ToDoList.Domain.Services.TitleMacros.TitleMacroParseResult;
+import ToDoList.Domain.Services.TitleMacros.TitleMacroType;
+import ToDoList.Infrastructure.Caches.AuthenticatedUserCache;
+import ToDoList.Infrastructure.Caches.TaskListCache;
+import ToDoList.Infrastructure.PostgreDB.Configurations.HibernateBatchConfiguration;
 import ToDoList.Infrastructure.PostgreDB.Repositories.TaskRepository;
-import ToDoList.Infrastructure.PostgreDB.Repositories.UserRepository;
+import ToDoList.Infrastructure.PostgreDB.Repositories.TaskSpecifications;
+import ToDoList.Infrastructure.PostgreDB.Repositories.TaskTombstoneRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
 import org.apache.coyote.BadRequestException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
-
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.DayOfWeek;
+import java.time.Duration;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAdjusters;
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 @Service
+// Время выполнения каждого публичного метода с тегами class и method. Аспект срабатывает только на вызовах
+// через прокси, поэтому публичные методы не вызывают друг друга: общая логика вынесена в закрытые методы
+@Timed("tasks.service")
 public class TaskService implements ITaskService {
 
-    private UserRepository _userRepository;
+    // Максимальный размер страницы при постраничном получении задач
+    private static final int MAX_PAGE_SIZE = 200;
+
+    // Максимальное количество задач в одном запросе пакетного создания
+    private static final int MAX_BATCH_SIZE = 5000;
+
+    // Максимальная длина строки поиска по заголовку и описанию
+    private static final int MAX_QUERY_LENGTH = 200;
+
+    // Наибольший возраст токена синхронизации: срок хранения отметок об удалении за вычетом запаса
+    private static final Duration SYNC_RETENTION = TaskTombstone.RETENTION.minusDays(1);
+
+    // Наборы извлекаемых макросов заголовка
+    private static final Set<TitleMacroType> ALL_MACROS = Collections.unmodifiableSet(EnumSet.allOf(TitleMacroType.class));
+    private static final Set<TitleMacroType> PRIORITY_MACROS = Collections.unmodifiableSet(EnumSet.of(TitleMacroType.Priority));
+    private static final Set<TitleMacroType> DEADLINE_MACROS = Collections.unmodifiableSet(EnumSet.of(TitleMacroType.Deadline));
+    private static final Set<TitleMacroType> NO_MACROS = Collections.unmodifiableSet(EnumSet.noneOf(TitleMacroType.class));
+
+    private AuthenticatedUserCache _authenticatedUserCache;
     private TaskRepository _taskRepository;
+    private TaskTombstoneRepository _taskTombstoneRepository;
+    private EntityManager _entityManager;
+    private ObjectMapper _objectMapper;
+    private TaskTitleMacroParser _titleMacroParser;
+    private TaskListCache _taskListCache;
+    private DistributionSummary _listSizeSummary;
+    private Timer _macroParseTimer;
+    private TransactionTemplate _primaryRead;
+    private TransactionTemplate _replicaRead;
 
     // Внедрение зависимостей через конструктор
-    public TaskService(UserRepository userRepository, TaskRepository taskRepository) {
+    public TaskService(AuthenticatedUserCache authenticatedUserCache, TaskRepository taskRepository,
+                       TaskTombstoneRepository taskTombstoneRepository, EntityManager entityManager, ObjectMapper objectMapper,
+                       TaskTitleMacroParser titleMacroParser, TaskListCache taskListCache,
+                       PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
         _taskRepository = taskRepository;
-        _userRepository = userRepository;
+        _taskTombstoneRepository = taskTombstoneRepository;
+        _authenticatedUserCache = authenticatedUserCache;
+        _entityManager = entityManager;
+        _objectMapper = objectMapper;
+        _titleMacroParser = titleMacroParser;
+        _taskListCache = taskListCache;
+        _listSizeSummary = DistributionSummary.builder("tasks.list.size")
+                .description("Number of tasks in lists loaded by getUserTasks")
+                .register(meterRegistry);
+        // Таймер создаётся один раз и записывается напрямую, без аспекта: разбор занимает микросекунды
+        _macroParseTimer = Timer.builder("tasks.title.macros.parse")
+                .description("Time spent parsing title macros, without database work")
+                .register(meterRegistry);
+        // Пишущая транзакция направляется на основную БД (TransactionRoutingDataSource), только чтения — на реплику
+        _primaryRead = new TransactionTemplate(transactionManager);
+        _replicaRead = new TransactionTemplate(transactionManager);
+        _replicaRead.setReadOnly(true);
     }
 
     // Метод создания новой задачи
     public UUID createTask(UUID userId, TaskCreateModel taskCreateModel) throws KeyNotFoundException, BadRequestException {
-        Optional<User> userO = _userRepository.findById(userId);
-
         // Проверка наличия пользователя
-        if (!userO.isPresent()) {
-            throw new KeyNotFoundException("User is not found");
+        _authenticatedUserCache.verifyUser(userId);
+
+        // Создание объекта задачи и его сохранение
+        Task task = buildNewTask(userId, taskCreateModel, Calendar.getInstance().getTime());
+
+        _taskRepository.save(task);
+        _taskListCache.invalidateUser(userId);
+        return task.getId();
+    }
+
+    // Пакетное создание задач: одна проверка пользователя, вставка пакетами JDBC
+    @Transactional
+    public List<UUID> createTasks(UUID userId, List<TaskCreateModel> taskCreateModels)
+            throws KeyNotFoundException, BadRequestException {
+        _authenticatedUserCache.verifyUser(userId);
+
+        if (taskCreateModels == null || taskCreateModels.isEmpty() || taskCreateModels.size() > MAX_BATCH_SIZE) {
+            throw new BadRequestException("Batch must contain from 1 to " + MAX_BATCH_SIZE + " tasks");
+        }
+        if (taskCreateModels.contains(null)) {
+            throw new BadRequestException("Batch must not contain empty tasks");
+        }
+
+        Date createTime = Calendar.getInstance().getTime();
+        List<UUID> taskIds = new ArrayList<>(taskCreateModels.size());
+
+        for (int i = 0; i < taskCreateModels.size(); i++) {
+            Task task = buildNewTask(userId, taskCreateModels.get(i), createTime);
+
+            // persist вместо save: id задаётся заранее, и save выполнил бы лишний SELECT через merge
+            _entityManager.persist(task);
+            taskIds.add(task.getId());
+
+            // Отправка накопленного пакета и очистка контекста, чтобы он не рос с размером запроса
+            if ((i + 1) % HibernateBatchConfiguration.JDBC_BATCH_SIZE == 0) {
+                _entityManager.flush();
+                _entityManager.clear();
+            }
         }
+        _taskListCache.invalidateUser(userId);
+        return taskIds;
+    }
 
+    // Построение новой задачи с учётом макросов в заголовке
+    private Task buildNewTask(UUID userId, TaskCreateModel taskCreateModel, Date createTime) {
         TaskPriority taskPriority = taskCreateModel.getPriority();
         LocalDate deadline = taskCreateModel.getDeadline();
 
-        // Автоматическое определение приоритета по макросу в названии задачи
-        if (taskCreateModel.getPriority() == null) {
-            String[] titleRef = new String[]{taskCreateModel.getTitle()};
-            taskPriority = calculateTaskPriorityByTitleMacros(titleRef, TaskPriority.Medium);
-            taskCreateModel.setTitle(titleRef[0]); // Обновление заголовка без макроса
-        }
+        // Автоматическое определение приоритета и дедлайна по макросам в названии задачи
+        TitleMacroParseResult macros = parseTitleMacros(taskCreateModel.getTitle(), taskPriority, deadline);
+        taskCreateModel.setTitle(macros.getTitle()); // Обновление заголовка без макросов
 
-        // Автоматическое определение дедлайна по макросу в названии задачи
-        if (taskCreateModel.getDeadline() == null) {
-            String[] titleRef = new String[]{taskCreateModel.getTitle()};
-            deadline = calculateTaskDeadlineByTitleMacros(titleRef);
-            taskCreateModel.setTitle(titleRef[0]); // Обновление заголовка без макроса
+        if (taskPriority == null) {
+            taskPriority = macros.getPriority() != null ? macros.getPriority() : TaskPriority.Medium;
+        }
+        if (deadline == null) {
+            deadline = macros.getDeadline();
         }
 
-        // Создание объекта задачи и его сохранение
-        Task task = new Task(
+        return new Task(
                 UUID.randomUUID(),
-                userO.get().getId(),
+                userId,
                 taskCreateModel.getTitle(),
                 taskCreateModel.getDescription(),
                 TaskStatus.Active,
                 taskPriority,
                 deadline,
-                Calendar.getInstance().getTime(),
+                createTime,
                 null
         );
-
-        _taskRepository.save(task);
-        return task.getId();
     }
 
-    // Определение приоритета задачи по макросу (!1, !2 и т.д.)
-    private TaskPriority calculateTaskPriorityByTitleMacros(String[] titleRef, TaskPriority defaultPriority) {
-        String title = titleRef[0];
-        Pattern pattern = Pattern.compile("![1-4]");
-        Matcher matcher = pattern.matcher(title);
-
-        TaskPriority taskPriority = defaultPriority;
-
-        if (matcher.find()) {
-            String findedResult = title.substring(matcher.start(), matcher.end());
-            titleRef[0] = title.replace(findedResult, ""); // Удаление макроса из заголовка
-            switch (findedResult) {
-                case "!1": taskPriority = TaskPriority.Low; break;
-                case "!2": taskPriority = TaskPriority.Medium; break;
-                case "!3": taskPriority = TaskPriority.High; break;
-                case "!4": taskPriority = TaskPriority.Critical; break;
-            }
+    // Разбор макросов заголовка для приоритета и дедлайна, которые не указаны явно
+    private TitleMacroParseResult parseTitleMacros(String title, TaskPriority priority, LocalDate deadline) {
+        Set<TitleMacroType> types;
+        if (priority == null) {
+            types = deadline == null ? ALL_MACROS : PRIORITY_MACROS;
+        } else {
+            types = deadline == null ? DEADLINE_MACROS : NO_MACROS;
         }
-        return taskPriority;
+        long start = System.nanoTime();
+        TitleMacroParseResult result = _titleMacroParser.parse(title, types);
+        _macroParseTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return result;
     }
 
-    // Определение дедлайна по макросу "!before dd.mm.yyyy" или "!before dd-mm-yyyy"
-    private LocalDate calculateTaskDeadlineByTitleMacros(String[] titleRef) {
-        String title = titleRef[0];
-        Pattern pattern = Pattern.compile("!before ((0[1-9]|1[0-9]|2[0-9]|3[0-1])[.-](0[1-9]|1[012])[.-][0-9]{4})");
-        Matcher matcher = pattern.matcher(title);
+    // Метод редактирования задачи: одно UPDATE с проверкой владельца и версии в условии.
+    // Транзакция пишущая, поэтому и выяснение причины отказа читает основную БД, а не реплику
+    @Transactional
+    public void editTask(UUID taskId, UUID userId, EditTaskModel editTaskModel, Set<Long> expectedVersions)
+            throws KeyNotFoundException, BadRequestException, NotEnoughAccessException, PreconditionFailedException {
+        _authenticatedUserCache.verifyUser(userId);
 
-        LocalDate deadline = null;
+        // Вычисление приоритета и дедлайна, если не указаны явно
+        TaskPriority taskPriority = editTaskModel.getPriority();
+        LocalDate deadline = editTaskModel.getDeadline();
 
-        if (matcher.find()) {
-            String findedResult = title.substring(matcher.start(), matcher.end());
-            titleRef[0] = title.replace(findedResult, ""); // Удаление макроса из заголовка
+        TitleMacroParseResult macros = parseTitleMacros(editTaskModel.getTitle(), taskPriority, deadline);
+        editTaskModel.setTitle(macros.getTitle());
 
-            DateTimeFormatter inputFormatter = DateTimeFormatter.ofPattern("dd-MM-yyyy");
-            String dateGroup = matcher.group(1).replace(".", "-"); // Приведение к формату dd-MM-yyyy
+        if (taskPriority == null) {
+            taskPriority = macros.getPriority() != null ? macros.getPriority() : TaskPriority.Medium;
+        }
+        if (deadline == null) {
+            deadline = macros.getDeadline();
+        }
 
-            deadline = LocalDate.parse(dateGroup, inputFormatter);
+        // Автоматическая смена статуса в зависимости от дедлайна
+        TaskStatus status;
+        if (editTaskModel.getStatus().equals(TaskStatus.Active) || editTaskModel.getStatus().equals(TaskStatus.Overdue)) {
+            status = (deadline != null && deadline.isBefore(LocalDate.now())) ? TaskStatus.Overdue : TaskStatus.Active;
+        } else {
+            status = (deadline != null && deadline.isBefore(LocalDate.now())) ? TaskStatus.Late : TaskStatus.Completed;
         }
-        return deadline;
-    }
 
-    // Метод редактирования задачи
-    public void editTask(UUID taskId, UUID userId, EditTaskModel editTaskModel)
-            throws KeyNotFoundException, BadRequestException, NotEnoughAccessException {
-        Optional<User> userO = _userRepository.findById(userId);
-        Optional<Task> taskO = _taskRepository.findById(taskId);
+        // Обновление полей задачи, если она существует, принадлежит пользователю и её версия входит в expectedVersions
+        int updated = expectedVersions != null && expectedVersions.isEmpty() ? 0 : _taskRepository.updateByIdAndUserId(
+                taskId, userId, expectedVersions == null, versionCondition(expectedVersions),
+                editTaskModel.getTitle(),
+                editTaskModel.getDescription(),
+                deadline,
+                taskPriority,
+                status,
+                Calendar.getInstance().getTime());
 
-        // Проверки наличия задачи и пользователя
-        if (!taskO.isPresent()) {
-            throw new KeyNotFoundException("Task is not found");
-        }
-        if (!userO.isPresent()) {
-            throw new KeyNotFoundException("User is not found");
+        if (updated == 0) {
+            throwTaskNotAccessible(taskId, userId);
         }
+        _taskListCache.invalidateUser(userId);
+    }
 
-        Task task = taskO.get();
+    // Метод удаления задачи: одно DELETE с проверкой владельца и версии в условии
+    // и отметка об удалении для инкрементальной синхронизации
+    @Transactional
+    public void deleteTask(UUID taskId, UUID userId, Set<Long> expectedVersions)
+            throws KeyNotFoundException, NotEnoughAccessException, PreconditionFailedException {
+        _authenticatedUserCache.verifyUser(userId);
+
+        int deleted = expectedVersions != null && expectedVersions.isEmpty() ? 0 : _taskRepository.deleteByIdAndUserId(
+                taskId, userId, expectedVersions == null, versionCondition(expectedVersions));
+        if (deleted == 0) {
+            throwTaskNotAccessible(taskId, userId);
+        }
+        _entityManager.persist(new TaskTombstone(taskId, userId, Calendar.getInstance().getTime()));
+        _taskListCache.invalidateUser(userId);
+    }
 
-        // Вычисление приоритета и дедлайна, если не указаны явно
-        TaskPriority taskPriority = editTaskModel.getPriority();
-        LocalDate deadline = editTaskModel.getDeadline();
+    // Групповая операция над задачами: одна выборка владельцев с блокировкой строк для результатов
+    // по каждой задаче и одно изменение всех задач пользователя с проверкой владельца в условии
+    @Transactional
+    public TaskBulkResultModel bulkUpdateTasks(UUID userId, TaskBulkModel taskBulkModel)
+            throws KeyNotFoundException, BadRequestException {
+        _authenticatedUserCache.verifyUser(userId);
 
-        if (editTaskModel.getPriority() == null) {
-            String[] titleRef = new String[]{editTaskModel.getTitle()};
-            taskPriority = calculateTaskPriorityByTitleMacros(titleRef, TaskPriority.Medium);
-            editTaskModel.setTitle(titleRef[0]);
+        if (taskBulkModel == null || taskBulkModel.getOperation() == null) {
+            throw new BadRequestException("Bulk operation is not specified");
         }
-
-        if (editTaskModel.getDeadline() == null) {
-            String[] titleRef = new String[]{editTaskModel.getTitle()};
-            deadline = calculateTaskDeadlineByTitleMacros(titleRef);
-            editTaskModel.setTitle(titleRef[0]);
+        if (taskBulkModel.getIds() == null || taskBulkModel.getIds().isEmpty()
+                || taskBulkModel.getIds().size() > MAX_BATCH_SIZE) {
+            throw new BadRequestException("Bulk operation must contain from 1 to " + MAX_BATCH_SIZE + " tasks");
+        }
+        if (taskBulkModel.getIds().contains(null)) {
+            throw new BadRequestException("Bulk operation must not contain empty task ids");
         }
 
-        // Проверка прав доступа
-        if (!task.getUserId().equals(userId)) {
-            throw new NotEnoughAccessException("You are trying to get not your task");
+        // Результаты в порядке запроса, по умолчанию задача не найдена
+        Map<UUID, TaskBulkOutcomeModel> outcomes = new LinkedHashMap<>();
+        taskBulkModel.getIds().forEach(id -> outcomes.put(id, TaskBulkOutcomeModel.NotFound));
+
+        List<UUID> ownIds = new ArrayList<>(outcomes.size());
+        for (TaskRepository.TaskOwner owner : _taskRepository.lockOwnersByIdIn(outcomes.keySet())) {
+            if (owner.getUserId().equals(userId)) {
+                outcomes.put(owner.getId(), TaskBulkOutcomeModel.Ok);
+                ownIds.add(owner.getId());
+            } else {
+                outcomes.put(owner.getId(), TaskBulkOutcomeModel.Forbidden);
+            }
         }
 
-        // Обновление полей задачи
-        task.setTitle(editTaskModel.getTitle());
-        task.setDescription(editTaskModel.getDescription());
-        task.setDeadline(deadline);
-        task.setPriority(taskPriority);
-        task.setUpdateTime(Calendar.getInstance().getTime());
+        if (ownIds.isEmpty()) {
+            return new TaskBulkResultModel(outcomes);
+        }
 
-        // Автоматическая смена статуса в зависимости от дедлайна
-        if (editTaskModel.getStatus().equals(TaskStatus.Active) || editTaskModel.getStatus().equals(TaskStatus.Overdue)) {
-            task.setStatus((deadline != null && deadline.isBefore(LocalDate.now())) ? TaskStatus.Overdue : TaskStatus.Active);
-        } else {
-            task.setStatus((deadline != null && deadline.isBefore(LocalDate.now())) ? TaskStatus.Late : TaskStatus.Completed);
+        Date updateTime = Calendar.getInstance().getTime();
+        switch (taskBulkModel.getOperation()) {
+            case Complete:
+                // Та же смена статуса, что и в editTask: после дедлайна задача завершается как Late
+                _taskRepository.updateStatusByIdInAndUserId(ownIds, userId, TaskStatus.Completed, TaskStatus.Late,
+                        LocalDate.now(), updateTime);
+                break;
+            case Activate:
+                _taskRepository.updateStatusByIdInAndUserId(ownIds, userId, TaskStatus.Active, TaskStatus.Overdue,
+                        LocalDate.now(), updateTime);
+                break;
+            case Delete:
+                _taskRepository.deleteByIdInAndUserId(ownIds, userId);
+                for (int i = 0; i < ownIds.size(); i++) {
+                    _entityManager.persist(new TaskTombstone(ownIds.get(i), userId, updateTime));
+
+                    if ((i + 1) % HibernateBatchConfiguration.JDBC_BATCH_SIZE == 0) {
+                        _entityManager.flush();
+                        _entityManager.clear();
+                    }
+                }
+                break;
         }
 
-        _taskRepository.save(task);
+        _taskListCache.invalidateUser(userId);
+        return new TaskBulkResultModel(outcomes);
+    }
+
+    // Версии для условия запроса; без проверки версии список не используется, но IN требует непустого значения
+    private static Collection<Long> versionCondition(Set<Long> expectedVersions) {
+        return expectedVersions == null ? List.of(-1L) : expectedVersions;
     }
 
-    // Метод удаления задачи
-    public void deleteTask(UUID taskId, UUID userId) throws KeyNotFoundException, NotEnoughAccessException {
+    // Выяснение, почему изменение не затронуло задачу: её нет, она чужая или её версия изменилась
+    // (запрос выполняется только на пути ошибки)
+    private void throwTaskNotAccessible(UUID taskId, UUID userId)
+            throws KeyNotFoundException, NotEnoughAccessException, PreconditionFailedException {
         Optional<Task> taskO = _taskRepository.findById(taskId);
-        Optional<User> userO = _userRepository.findById(userId);
 
         if (!taskO.isPresent()) {
             throw new KeyNotFoundException("Task is not found");
         }
-        if (!userO.isPresent()) {
-            throw new KeyNotFoundException("User is not found");
-        }
-
-        Task task = taskO.get();
-
-        // Проверка владельца задачи
-        if (!task.getUserId().equals(userId)) {
+        if (!taskO.get().getUserId().equals(userId)) {
             throw new NotEnoughAccessException("You are trying to get not your task");
         }
-
-        _taskRepository.deleteById(taskId);
+        throw new PreconditionFailedException("Task was modified by another request");
     }
 
-    // Метод обновления статуса задачи, если дедлайн просрочен
-    private void changeTaskStatus(Task task) {
-        TaskStatus status = task.getStatus();
-        LocalDate deadline = task.getDeadline();
+    // Получение полной информации о задаче
+    @Transactional(readOnly = true)
+    public TaskModel getTask(UUID taskId, UUID userId) throws KeyNotFoundException, NotEnoughAccessException {
+        return findVersionedTask(taskId, userId).getModel();
+    }
 
-        if (deadline != null && status == TaskStatus.Active && deadline.isBefore(LocalDate.now())) {
-            task.setStatus(TaskStatus.Overdue);
-        }
+    // Получение полной информации о задаче вместе с её версией
+    @Transactional(readOnly = true)
+    public VersionedModel<TaskModel> getVersionedTask(UUID taskId, UUID userId)
+            throws KeyNotFoundException, NotEnoughAccessException {
+        return findVersionedTask(taskId, userId);
     }
 
-    // Получение полной информации о задаче
-    public TaskModel getTask(UUID taskId, UUID userId) throws KeyNotFoundException, NotEnoughAccessException {
+    private VersionedModel<TaskModel> findVersionedTask(UUID taskId, UUID userId)
+            throws KeyNotFoundException, NotEnoughAccessException {
+        _authenticatedUserCache.verifyUser(userId);
         Optional<Task> taskO = _taskRepository.findById(taskId);
-        Optional<User> userO = _userRepository.findById(userId);
 
         if (!taskO.isPresent()) {
             throw new KeyNotFoundException("Task is not found");
         }
-        if (!userO.isPresent()) {
-            throw new KeyNotFoundException("User is not found");
-        }
 
         Task task = taskO.get();
 
@@ -225,11 +376,8 @@ public class TaskService implements ITaskService {
             throw new NotEnoughAccessException("You are trying to get not your task");
         }
 
-        // Обновление статуса, если нужно
-        changeTaskStatus(task);
-        _taskRepository.save(task);
-
-        return new TaskModel(task.getId(),
+        // Статус просроченных задач обновляет TaskOverdueSweeper, чтение ничего не записывает
+        TaskModel taskModel = new TaskModel(task.getId(),
                 task.getTitle(),
                 task.getDeadline(),
                 task.getPriority(),
@@ -238,47 +386,246 @@ public class TaskService implements ITaskService {
                 task.getCreateTime(),
                 task.getUpdateTime()
         );
+        return new VersionedModel<>(taskModel, task.getVersion());
     }
 
     // Получение списка задач пользователя с сортировкой
+    // Методы списков не открывают транзакцию: кэшируемый список загружается в собственной транзакции
     public TaskShortModelList getUserTasks(UUID userId, TaskSortModel taskSortModel) throws KeyNotFoundException {
-        Optional<User> userO = _userRepository.findById(userId);
+        return findVersionedUserTasks(userId, taskSortModel).getModel();
+    }
+
+    // Получение списка задач пользователя вместе с отпечатком содержимого
+    public VersionedModel<TaskShortModelList> getVersionedUserTasks(UUID userId, TaskSortModel taskSortModel)
+            throws KeyNotFoundException {
+        return findVersionedUserTasks(userId, taskSortModel);
+    }
+
+    private VersionedModel<TaskShortModelList> findVersionedUserTasks(UUID userId, TaskSortModel taskSortModel)
+            throws KeyNotFoundException {
+        _authenticatedUserCache.verifyUser(userId);
+
+        // Список берётся из кэша, при промахе загружается из основной БД и сортируется: список с отстающей
+        // реплики (например, сразу после перевода задач в Overdue) оставался бы в кэше на всё время его жизни
+        return _taskListCache.get(userId, taskSortModel,
+                () -> _primaryRead.execute(status -> loadUserTasks(userId, taskSortModel)));
+    }
 
-        if (!userO.isPresent()) {
-            throw new KeyNotFoundException("User is not found");
+    // Получение списка задач пользователя с фильтрацией на стороне БД
+    public VersionedModel<TaskShortModelList> getFilteredUserTasks(UUID userId, TaskSortModel taskSortModel,
+                                                                   TaskFilterModel taskFilterModel)
+            throws KeyNotFoundException, BadRequestException {
+        if (taskFilterModel == null || taskFilterModel.isEmpty()) {
+            return findVersionedUserTasks(userId, taskSortModel);
         }
+        _authenticatedUserCache.verifyUser(userId);
 
-        List<Task> taskList = _taskRepository.findByUserId(userId);
-        List<TaskShortModel> taskShortModels = new ArrayList<>();
+        if (taskFilterModel.getDeadlineFrom() != null && taskFilterModel.getDeadlineTo() != null
+                && taskFilterModel.getDeadlineFrom().isAfter(taskFilterModel.getDeadlineTo())) {
+            throw new BadRequestException("Deadline range start must not be after its end");
+        }
+        if (taskFilterModel.getQuery() != null && taskFilterModel.getQuery().length() > MAX_QUERY_LENGTH) {
+            throw new BadRequestException("Search query must not be longer than " + MAX_QUERY_LENGTH + " characters");
+        }
 
-        // Преобразование задач в упрощенные модели
-        taskList.forEach(task -> taskShortModels.add(
-                new TaskShortModel(task.getId(),
-                        task.getTitle(),
-                        task.getDeadline(),
-                        task.getPriority(),
-                        task.getStatus(),
-                        task.getCreateTime())
-        ));
+        // Отфильтрованные списки не кэшируются: сочетаний условий слишком много, а выборка идёт по индексам.
+        // Поэтому их можно читать с реплики
+        List<TaskShortModel> taskShortModels = _replicaRead.execute(
+                status -> _taskRepository.findShortModels(TaskSpecifications.matching(userId, taskFilterModel)));
+
+        if (taskSortModel != null) {
+            taskShortModels.sort(comparatorFor(taskSortModel));
+        }
+        return new VersionedModel<>(new TaskShortModelList(taskShortModels), TaskListFingerprint.of(taskShortModels));
+    }
+
+    // Загрузка и сортировка списка задач пользователя из БД
+    private List<TaskShortModel> loadUserTasks(UUID userId, TaskSortModel taskSortModel) {
+        // Выбираются только поля краткой модели, без загрузки сущностей
+        List<TaskShortModel> taskShortModels = _taskRepository.findShortModelsByUserId(userId);
+        _listSizeSummary.record(taskShortModels.size());
 
         // Сортировка списка задач, если задана модель сортировки
         if (taskSortModel != null) {
-            Comparator comparator;
-            switch (taskSortModel) {
-                case AscCreationTime:
-                    comparator = new TaskShortModelAscCreateTimeComparator(); break;
-                case DescCreationTime:
-                    comparator = new TaskShortModelDescCreateTimeComparator(); break;
-                case DescDeadline:
-                    comparator = new TaskShortModelDescDeadlineComparator(); break;
-                case AscDeadline:
-                    comparator = new TaskShortModelAscDeadlineComparator(); break;
-                default:
-                    comparator = new TaskShortModelDescCreateTimeComparator();
+            taskShortModels.sort(comparatorFor(taskSortModel));
+        }
+
+        return taskShortModels;
+    }
+
+    // Общий экземпляр компаратора для модели сортировки
+    private static Comparator<TaskShortModel> comparatorFor(TaskSortModel taskSortModel) {
+        switch (taskSortModel) {
+            case AscCreationTime:
+                return TaskShortModelAscCreateTimeComparator.INSTANCE;
+            case DescDeadline:
+                return TaskShortModelDescDeadlineComparator.INSTANCE;
+            case AscDeadline:
+                return TaskShortModelAscDeadlineComparator.INSTANCE;
+            case DescCreationTime:
+            default:
+                return TaskShortModelDescCreateTimeComparator.INSTANCE;
+        }
+    }
+
+    // Сводные счётчики задач: два агрегирующих запроса вместо загрузки всего списка
+    @Transactional(readOnly = true)
+    public TaskStatsModel getUserTasksStats(UUID userId) throws KeyNotFoundException {
+        _authenticatedUserCache.verifyUser(userId);
+
+        Map<TaskStatus, Long> byStatus = zeroCounts();
+        Map<TaskPriority, Map<TaskStatus, Long>> byPriority = new EnumMap<>(TaskPriority.class);
+        for (TaskPriority priority : TaskPriority.values()) {
+            byPriority.put(priority, zeroCounts());
+        }
+
+        long total = 0;
+        for (TaskRepository.PriorityStatusCount count : _taskRepository.countByPriorityAndStatus(userId)) {
+            total += count.getCount();
+            if (count.getStatus() != null) {
+                byStatus.merge(count.getStatus(), count.getCount(), Long::sum);
+                if (count.getPriority() != null) {
+                    byPriority.get(count.getPriority()).merge(count.getStatus(), count.getCount(), Long::sum);
+                }
             }
-            taskShortModels.sort(comparator);
         }
 
-        return new TaskShortModelList(taskShortModels);
+        // Просроченные задачи уже в статусе Overdue, поэтому к сроку считаются только активные
+        LocalDate today = LocalDate.now();
+        LocalDate weekEnd = today.with(TemporalAdjusters.nextOrSame(DayOfWeek.SUNDAY));
+        TaskRepository.DueCount due = _taskRepository.countDue(userId, TaskStatus.Active, today, weekEnd);
+
+        return new TaskStatsModel(total, byStatus, byPriority,
+                due.getDueOnFrom() != null ? due.getDueOnFrom() : 0,
+                due.getDueInRange());
+    }
+
+    private static Map<TaskStatus, Long> zeroCounts() {
+        Map<TaskStatus, Long> counts = new EnumMap<>(TaskStatus.class);
+        for (TaskStatus status : TaskStatus.values()) {
+            counts.put(status, 0L);
+        }
+        return counts;
+    }
+
+    // Постраничное получение задач пользователя: сортировка и отсечение выполняются в БД по индексам
+    @Transactional(readOnly = true)
+    public TaskShortModelPage getUserTasksPage(UUID userId, TaskSortModel taskSortModel, int pageSize, String cursor)
+            throws KeyNotFoundException, BadRequestException {
+        _authenticatedUserCache.verifyUser(userId);
+
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new BadRequestException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        TaskSortModel sort = taskSortModel != null ? taskSortModel : TaskSortModel.DescCreationTime;
+        TaskPageCursor after = cursor != null ? TaskPageCursor.decode(cursor, sort) : null;
+
+        // Запрашиваем на одну задачу больше, чтобы понять, есть ли следующая страница
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<TaskShortModel> taskList;
+        switch (sort) {
+            case AscCreationTime:
+                taskList = after == null
+                        ? _taskRepository.findByUserIdOrderByCreateTimeAscIdAsc(userId, limit)
+                        : _taskRepository.findPageAfterAscCreateTime(userId, after.getCreateTime(), after.getId(), limit);
+                break;
+            case AscDeadline:
+                taskList = findDeadlinePage(userId, true, after, pageSize + 1);
+                break;
+            case DescDeadline:
+                taskList = findDeadlinePage(userId, false, after, pageSize + 1);
+                break;
+            case DescCreationTime:
+            default:
+                taskList = after == null
+                        ? _taskRepository.findByUserIdOrderByCreateTimeDescIdDesc(userId, limit)
+                        : _taskRepository.findPageAfterDescCreateTime(userId, after.getCreateTime(), after.getId(), limit);
+        }
+
+        String nextCursor = null;
+        if (taskList.size() > pageSize) {
+            taskList = taskList.subList(0, pageSize);
+            nextCursor = TaskPageCursor.of(sort, taskList.get(pageSize - 1)).encode();
+        }
+
+        return new TaskShortModelPage(taskList, nextCursor);
+    }
+
+    // Инкрементальная синхронизация: задачи, изменённые и удалённые начиная с точки синхронизации из токена.
+    // Транзакция не только для чтения, чтобы при чтении с реплики синхронизация шла по основной БД:
+    // точка синхронизации и выборка изменений должны браться из одной БД
+    @Transactional
+    public TaskDeltaModel getUserTasksDelta(UUID userId, String syncToken) throws KeyNotFoundException, BadRequestException {
+        _authenticatedUserCache.verifyUser(userId);
+
+        TaskSyncToken since = syncToken == null || syncToken.isEmpty() ? null : TaskSyncToken.decode(syncToken);
+
+        // Точка для следующего токена берётся до выборки изменений: транзакции, не завершённые к этому моменту,
+        // попадут в следующую синхронизацию, завершённые — видны уже в этой
+        Date now = Calendar.getInstance().getTime();
+        String nextToken = new TaskSyncToken(_taskRepository.currentSyncPoint(), now).encode();
+
+        // Первая синхронизация, токен прежнего формата или отметки об удалении за этот период уже могли быть
+        // очищены (с запасом на длительность транзакций) — полный список
+        if (since == null || since.getIssueTime().getTime() < now.getTime() - SYNC_RETENTION.toMillis()) {
+            return new TaskDeltaModel(_taskRepository.findShortModelsByUserId(userId), List.of(), nextToken, true);
+        }
+
+        List<TaskShortModel> changed = _taskRepository.findChangedSince(userId, since.getChangeId());
+        List<UUID> deleted = _taskTombstoneRepository.findDeletedTaskIdsSince(userId, since.getChangeId());
+
+        return new TaskDeltaModel(changed, deleted, nextToken, false);
+    }
+
+    // Потоковая выгрузка задач: по одной задаче читается из курсора БД и сразу пишется в ответ
+    @Transactional(readOnly = true)
+    public void exportUserTasks(UUID userId, OutputStream outputStream) throws KeyNotFoundException, IOException {
+        _authenticatedUserCache.verifyUser(userId);
+
+        // Краткие модели не попадают в контекст персистентности, поэтому память не растёт с количеством задач
+        try (Stream<TaskShortModel> tasks = _taskRepository.streamByUserId(userId);
+             SequenceWriter writer = _objectMapper.writerFor(TaskShortModel.class)
+                     .withRootValueSeparator("\n")
+                     .writeValues(outputStream)) {
+            Iterator<TaskShortModel> iterator = tasks.iterator();
+            while (iterator.hasNext()) {
+                writer.write(iterator.next());
+            }
+        }
+    }
+
+    // Страница при сортировке по дедлайну: сначала задачи с дедлайном, затем задачи без него
+    private List<TaskShortModel> findDeadlinePage(UUID userId, boolean ascending, TaskPageCursor after, int limit) {
+        List<TaskShortModel> taskList = new ArrayList<>(limit);
+        boolean inDeadlineGroup = after == null || after.getDeadline() != null;
+
+        if (inDeadlineGroup) {
+            Pageable pageable = PageRequest.of(0, limit);
+            if (after == null) {
+                taskList.addAll(ascending
+                        ? _taskRepository.findByUserIdAndDeadlineIsNotNullOrderByDeadlineAscIdAsc(userId, pageable)
+                        : _taskRepository.findByUserIdAndDeadlineIsNotNullOrderByDeadlineDescIdDesc(userId, pageable));
+            } else {
+                taskList.addAll(ascending
+                        ? _taskRepository.findPageAfterAscDeadline(userId, after.getDeadline(), after.getId(), pageable)
+                        : _taskRepository.findPageAfterDescDeadline(userId, after.getDeadline(), after.getId(), pageable));
+            }
+        }
+
+        // Добор страницы задачами без дедлайна
+        if (taskList.size() < limit) {
+            Pageable pageable = PageRequest.of(0, limit - taskList.size());
+            if (inDeadlineGroup) {
+                taskList.addAll(ascending
+                        ? _taskRepository.findByUserIdAndDeadlineIsNullOrderByIdAsc(userId, pageable)
+                        : _taskRepository.findByUserIdAndDeadlineIsNullOrderByIdDesc(userId, pageable));
+            } else {
+                taskList.addAll(ascending
+                        ? _taskRepository.findByUserIdAndDeadlineIsNullAndIdGreaterThanOrderByIdAsc(userId, after.getId(), pageable)
+                        : _taskRepository.findByUserIdAndDeadlineIsNullAndIdLessThanOrderByIdDesc(userId, after.getId(), pageable));
+            }
+        }
+        return taskList;
     }
 }
@@ -0,0 +1,94 @@
+package ToDoList.Benchmarks;
+
+import ToDoList.Application.Exceptions.CustomExceptions.KeyNotFoundException;
+import ToDoList.Application.Repositories.ModelsDTO.Enums.TaskSortModel;
+import ToDoList.Domain.Entities.Task.Task;
+import ToDoList.Domain.Services.TaskService;
+import ToDoList.Domain.Services.TitleMacros.DeadlineTitleMacro;
+import ToDoList.Domain.Services.TitleMacros.PriorityTitleMacro;
+import ToDoList.Domain.Services.TitleMacros.TaskTitleMacroParser;
+import ToDoList.Infrastructure.Caches.AuthenticatedUserCache;
+import ToDoList.Infrastructure.Caches.TaskListCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарк получения списка задач TaskService.getUserTasks на репозиториях в памяти
+ * getUserTasksUncached — полный путь: сброс кэша, загрузка, преобразование в TaskShortModel и сортировка
+ * (стоимость сброса отдельно измеряет invalidateBaseline); getUserTasksCached — попадание в TaskListCache
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class TaskServiceBenchmark {
+
+    @Param({"10", "1000", "100000", "1000000"})
+    public int size;
+
+    @Param({"AscCreationTime", "DescCreationTime", "AscDeadline", "DescDeadline"})
+    public TaskSortModel taskSortModel;
+
+    private final UUID _userId = new UUID(1, 1);
+
+    private TaskService _taskService;
+    private TaskListCache _taskListCache;
+
+    @Setup(Level.Trial)
+    public void setup() throws KeyNotFoundException {
+        List<Task> tasks = BenchmarkData.tasks(_userId, size, 42);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        AuthenticatedUserCache authenticatedUserCache = new AuthenticatedUserCache(
+                InMemoryRepositories.userRepository(Set.of(_userId)),
+                InMemoryRepositories.transactionManager(),
+                "",
+                false,
+                1000,
+                Duration.ofHours(1),
+                meterRegistry);
+        _taskListCache = new TaskListCache(Long.MAX_VALUE, Duration.ofHours(1), meterRegistry);
+
+        _taskService = new TaskService(authenticatedUserCache,
+                InMemoryRepositories.taskRepository(tasks),
+                InMemoryRepositories.taskTombstoneRepository(),
+                InMemoryRepositories.entityManager(),
+                new ObjectMapper(),
+                new TaskTitleMacroParser(List.of(new PriorityTitleMacro(), new DeadlineTitleMacro())),
+                _taskListCache,
+                InMemoryRepositories.transactionManager(),
+                meterRegistry);
+
+        // Проверочный вызов до замеров: обращение к нереализованному методу репозитория
+        // останавливает бенчмарк при подготовке, а не посреди измерений
+        getUserTasksUncached();
+    }
+
+    // Сброс кэша выполняется внутри измеряемого метода: @Setup(Level.Invocation) искажает замеры
+    // при времени вызова в единицы микросекунд
+    @Benchmark
+    public Object getUserTasksUncached() throws KeyNotFoundException {
+        _taskListCache.invalidateAll();
+        return _taskService.getUserTasks(_userId, taskSortModel);
+    }
+
+    @Benchmark
+    public Object getUserTasksCached() throws KeyNotFoundException {
+        return _taskService.getUserTasks(_userId, taskSortModel);
+    }
+
+    // Стоимость сброса кэша, входящая в getUserTasksUncached
+    @Benchmark
+    public void invalidateBaseline() {
+        _taskListCache.invalidateAll();
+    }
+}
@@ -3,20 +3,15 @@ package ToDoList.Application.Repositories.ModelsDTO.Task.TaskShortModelComparato
 import ToDoList.Application.Repositories.ModelsDTO.Task.TaskShortModel;
 
 import java.util.Comparator;
-import java.util.Date;
 
 public class TaskShortModelAscCreateTimeComparator implements Comparator<TaskShortModel> {
+
+    // Компаратор не имеет состояния, используется общий экземпляр
+    public static final TaskShortModelAscCreateTimeComparator INSTANCE = new TaskShortModelAscCreateTimeComparator();
+
     @Override
     public int compare(TaskShortModel o1, TaskShortModel o2) {
-        Date fCreateTime = o1.getCreateTime();
-        Date sCreateTime = o2.getCreateTime();
-
-        if (fCreateTime.after(sCreateTime)) {
-            return 1;
-        }else if(fCreateTime.before(sCreateTime)) {
-            return -1;
-        }else{
-            return 0;
-        }
+        int result = Long.compare(o1.getCreateTime().getTime(), o2.getCreateTime().getTime());
+        return result != 0 ? result : TaskShortModelSortKeys.compareIds(o1.getId(), o2.getId());
     }
 }
@@ -2,31 +2,19 @@ package ToDoList.Application.Repositories.ModelsDTO.Task.TaskShortModelComparato
 
 import ToDoList.Application.Repositories.ModelsDTO.Task.TaskShortModel;
 
-import java.time.LocalDate;
 import java.util.Comparator;
 
 public class TaskShortModelAscDeadlineComparator implements Comparator<TaskShortModel> {
-    @Override
-    public int compare(TaskShortModel o1, TaskShortModel o2) {
-        LocalDate fDeadline = o1.getDeadline();
-        LocalDate sDeadline = o2.getDeadline();
 
-        if(fDeadline == null && sDeadline == null) {
-            return 0;
-        }
-        if(fDeadline == null && sDeadline != null) {
-            return 1;
-        }
-        if(fDeadline != null && sDeadline == null) {
-            return -1;
-        }
+    // Компаратор не имеет состояния, используется общий экземпляр
+    public static final TaskShortModelAscDeadlineComparator INSTANCE = new TaskShortModelAscDeadlineComparator();
 
-        if (fDeadline.isAfter(sDeadline)) {
-            return 1;
-        }else if(fDeadline.isBefore(sDeadline)) {
-            return -1;
-        }else{
-            return 0;
-        }
+    @Override
+    public int compare(TaskShortModel o1, TaskShortModel o2) {
+        // Задачи без дедлайна получают наибольший ключ и оказываются в конце
+        int result = Long.compare(
+                TaskShortModelSortKeys.deadlineKey(o1.getDeadline(), TaskShortModelSortKeys.NO_DEADLINE_ASC),
+                TaskShortModelSortKeys.deadlineKey(o2.getDeadline(), TaskShortModelSortKeys.NO_DEADLINE_ASC));
+        return result != 0 ? result : TaskShortModelSortKeys.compareIds(o1.getId(), o2.getId());
     }
 }
@@ -0,0 +1,163 @@
+package ToDoList.Benchmarks;
+
+import ToDoList.Application.Repositories.ModelsDTO.Enums.TaskSortModel;
+import ToDoList.Application.Repositories.ModelsDTO.Task.TaskShortModel;
+import ToDoList.Application.Repositories.ModelsDTO.Task.TaskShortModelComparators.TaskShortModelAscCreateTimeComparator;
+import ToDoList.Application.Repositories.ModelsDTO.Task.TaskShortModelComparators.TaskShortModelAscDeadlineComparator;
+import ToDoList.Application.Repositories.ModelsDTO.Task.TaskShortModelComparators.TaskShortModelDescCreateTimeComparator;
+import ToDoList.Application.Repositories.ModelsDTO.Task.TaskShortModelComparators.TaskShortModelDescDeadlineComparator;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Бенчмарк сортировки списка кратких моделей задач компараторами TaskShortModel*Comparator
+// в сравнении с прежней реализацией
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class TaskShortModelComparatorBenchmark {
+
+    @Param({"10", "1000", "100000", "1000000"})
+    public int size;
+
+    @Param({"AscCreationTime", "DescCreationTime", "AscDeadline", "DescDeadline"})
+    public TaskSortModel taskSortModel;
+
+    // current — компараторы на примитивных ключах, legacy — прежние компараторы на Date.after/before
+    @Param({"current", "legacy"})
+    public String implementation;
+
+    private List<TaskShortModel> _source;
+    private Comparator<TaskShortModel> _comparator;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        _source = BenchmarkData.shortModels(BenchmarkData.tasks(new UUID(1, 1), size, 42));
+
+        boolean legacy = implementation.equals("legacy");
+        switch (taskSortModel) {
+            case AscCreationTime:
+                _comparator = legacy ? new LegacyAscCreateTimeComparator() : TaskShortModelAscCreateTimeComparator.INSTANCE;
+                break;
+            case AscDeadline:
+                _comparator = legacy ? new LegacyAscDeadlineComparator() : TaskShortModelAscDeadlineComparator.INSTANCE;
+                break;
+            case DescDeadline:
+                _comparator = legacy ? new LegacyDescDeadlineComparator() : TaskShortModelDescDeadlineComparator.INSTANCE;
+                break;
+            case DescCreationTime:
+            default:
+                _comparator = legacy ? new LegacyDescCreateTimeComparator() : TaskShortModelDescCreateTimeComparator.INSTANCE;
+        }
+    }
+
+    // Каждый вызов сортирует копию исходного, неотсортированного порядка. Копия делается внутри
+    // измеряемого метода (@Setup(Level.Invocation) искажает замеры коротких вызовов),
+    // её стоимость отдельно измеряет copyBaseline
+    @Benchmark
+    public List<TaskShortModel> sort() {
+        List<TaskShortModel> list = new ArrayList<>(_source);
+        list.sort(_comparator);
+        return list;
+    }
+
+    @Benchmark
+    public List<TaskShortModel> copyBaseline() {
+        return new ArrayList<>(_source);
+    }
+
+    // Прежние компараторы, оставленные как точка отсчёта
+
+    private static class LegacyAscCreateTimeComparator implements Comparator<TaskShortModel> {
+        @Override
+        public int compare(TaskShortModel o1, TaskShortModel o2) {
+            Date fCreateTime = o1.getCreateTime();
+            Date sCreateTime = o2.getCreateTime();
+
+            if (fCreateTime.after(sCreateTime)) {
+                return 1;
+            } else if (fCreateTime.before(sCreateTime)) {
+                return -1;
+            } else {
+                return 0;
+            }
+        }
+    }
+
+    private static class LegacyDescCreateTimeComparator implements Comparator<TaskShortModel> {
+        @Override
+        public int compare(TaskShortModel o1, TaskShortModel o2) {
+            Date fCreateTime = o1.getCreateTime();
+            Date sCreateTime = o2.getCreateTime();
+
+            if (fCreateTime.after(sCreateTime)) {
+                return -1;
+            } else if (fCreateTime.before(sCreateTime)) {
+                return 1;
+            } else {
+                return 0;
+            }
+        }
+    }
+
+    private static class LegacyAscDeadlineComparator implements Comparator<TaskShortModel> {
+        @Override
+        public int compare(TaskShortModel o1, TaskShortModel o2) {
+            LocalDate fDeadline = o1.getDeadline();
+            LocalDate sDeadline = o2.getDeadline();
+
+            if (fDeadline == null && sDeadline == null) {
+                return 0;
+            }
+            if (fDeadline == null) {
+                return 1;
+            }
+            if (sDeadline == null) {
+                return -1;
+            }
+
+            if (fDeadline.isAfter(sDeadline)) {
+                return 1;
+            } else if (fDeadline.isBefore(sDeadline)) {
+                return -1;
+            } else {
+                return 0;
+            }
+        }
+    }
+
+    private static class LegacyDescDeadlineComparator implements Comparator<TaskShortModel> {
+        @Override
+        public int compare(TaskShortModel o1, TaskShortModel o2) {
+            LocalDate fDeadline = o1.getDeadline();
+            LocalDate sDeadline = o2.getDeadline();
+
+            if (fDeadline == null && sDeadline == null) {
+                return 0;
+            }
+            if (fDeadline == null) {
+                return 1;
+            }
+            if (sDeadline == null) {
+                return -1;
+            }
+
+            if (fDeadline.isAfter(sDeadline)) {
+                return -1;
+            } else if (fDeadline.isBefore(sDeadline)) {
+                return 1;
+            } else {
+                return 0;
+            }
+        }
+    }
+}
@@ -2,22 +2,16 @@ package ToDoList.Application.Repositories.ModelsDTO.Task.TaskShortModelComparato
 
 import ToDoList.Application.Repositories.ModelsDTO.Task.TaskShortModel;
 
-import java.time.LocalDate;
 import java.util.Comparator;
-import java.util.Date;
 
 public class TaskShortModelDescCreateTimeComparator implements Comparator<TaskShortModel> {
+
+    // Компаратор не имеет состояния, используется общий экземпляр
+    public static final TaskShortModelDescCreateTimeComparator INSTANCE = new TaskShortModelDescCreateTimeComparator();
+
     @Override
     public int compare(TaskShortModel o1, TaskShortModel o2) {
-        Date fCreateTime = o1.getCreateTime();
-        Date sCreateTime = o2.getCreateTime();
-
-        if (fCreateTime.after(sCreateTime)) {
-            return -1;
-        }else if(fCreateTime.before(sCreateTime)) {
-            return 1;
-        }else{
-            return 0;
-        }
+        int result = Long.compare(o2.getCreateTime().getTime(), o1.getCreateTime().getTime());
+        return result != 0 ? result : TaskShortModelSortKeys.compareIds(o2.getId(), o1.getId());
     }
 }
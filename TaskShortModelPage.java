@@ -0,0 +1,24 @@
+package ToDoList.Application.Repositories.ModelsDTO.Task;
+
+import java.util.List;
+
+public class TaskShortModelPage {
+
+    private List<TaskShortModel> tasks;
+
+    // Непрозрачный курсор следующей страницы, null — если страница последняя
+    private String nextCursor;
+
+    public TaskShortModelPage(List<TaskShortModel> tasks, String nextCursor) {
+        this.tasks = tasks;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<TaskShortModel> getTasks() {
+        return tasks;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
@@ -0,0 +1,14 @@
+package ToDoList.Infrastructure.PostgreDB.Repositories;
+
+import ToDoList.Application.Repositories.ModelsDTO.Task.TaskShortModel;
+import ToDoList.Domain.Entities.Task.Task;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+// Запросы TaskRepository, возвращающие краткие модели задач по произвольным условиям
+public interface TaskShortModelQueries {
+
+    // Краткие модели задач, удовлетворяющих условию (см. TaskSpecifications)
+    List<TaskShortModel> findShortModels(Specification<Task> specification);
+}
@@ -0,0 +1,43 @@
+package ToDoList.Infrastructure.PostgreDB.Repositories;
+
+import ToDoList.Application.Repositories.ModelsDTO.Task.TaskShortModel;
+import ToDoList.Domain.Entities.Task.Task;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Реализация TaskShortModelQueries, подключается к TaskRepository по суффиксу Impl
+ * Условие из Specification применяется к запросу с конструктором TaskShortModel, поэтому
+ * выбираются только нужные столбцы и сущности не попадают в контекст персистентности
+ */
+class TaskShortModelQueriesImpl implements TaskShortModelQueries {
+
+    private EntityManager _entityManager;
+
+    TaskShortModelQueriesImpl(EntityManager entityManager) {
+        _entityManager = entityManager;
+    }
+
+    @Override
+    public List<TaskShortModel> findShortModels(Specification<Task> specification) {
+        CriteriaBuilder builder = _entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskShortModel> query = builder.createQuery(TaskShortModel.class);
+        Root<Task> root = query.from(Task.class);
+
+        query.select(builder.construct(TaskShortModel.class,
+                root.get("id"),
+                root.get("title"),
+                root.get("deadline"),
+                root.get("priority"),
+                root.get("status"),
+                root.get("createTime")));
+        query.where(specification.toPredicate(root, query, builder));
+
+        return _entityManager.createQuery(query).getResultList();
+    }
+}
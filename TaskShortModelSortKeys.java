@@ -0,0 +1,34 @@
+package ToDoList.Application.Repositories.ModelsDTO.Task.TaskShortModelComparators;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Примитивные ключи сортировки кратких моделей задач
+ * Ключи вычисляются без выделения памяти, поэтому компараторы не создают объектов при сравнении
+ */
+public final class TaskShortModelSortKeys {
+
+    // Ключ задачи без дедлайна при сортировке по возрастанию: такие задачи идут в конце
+    public static final long NO_DEADLINE_ASC = Long.MAX_VALUE;
+
+    // Ключ задачи без дедлайна при сортировке по убыванию: такие задачи тоже идут в конце
+    public static final long NO_DEADLINE_DESC = Long.MIN_VALUE;
+
+    private TaskShortModelSortKeys() {
+    }
+
+    public static long deadlineKey(LocalDate deadline, long noDeadlineKey) {
+        return deadline == null ? noDeadlineKey : deadline.toEpochDay();
+    }
+
+    /**
+     * Сравнение идентификаторов для устойчивого порядка при равных ключах
+     * Порядок совпадает с порядком uuid в PostgreSQL (беззнаковое побайтовое сравнение),
+     * чтобы сортировка в памяти и keyset-пагинация в БД давали одинаковую последовательность
+     */
+    public static int compareIds(UUID first, UUID second) {
+        int result = Long.compareUnsigned(first.getMostSignificantBits(), second.getMostSignificantBits());
+        return result != 0 ? result : Long.compareUnsigned(first.getLeastSignificantBits(), second.getLeastSignificantBits());
+    }
+}
@@ -0,0 +1,65 @@
+package ToDoList.Infrastructure.PostgreDB.Repositories;
+
+import ToDoList.Application.Repositories.ModelsDTO.Task.TaskFilterModel;
+import ToDoList.Domain.Entities.Task.Task;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Условия выборки задач для TaskRepository.findShortModels(Specification)
+ * Все условия дополняют фильтр по пользователю, поэтому выборка опирается на индексы tasks по user_id,
+ * а поиск текста — на триграммные индексы по lower(title) и lower(description) (см. TaskSearchIndexInitializer)
+ */
+public final class TaskSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private TaskSpecifications() {
+    }
+
+    public static Specification<Task> matching(UUID userId, TaskFilterModel filter) {
+        return (root, query, builder) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(builder.equal(root.get("userId"), userId));
+
+            if (filter.getStatuses() != null && !filter.getStatuses().isEmpty()) {
+                predicates.add(root.get("status").in(filter.getStatuses()));
+            }
+            if (filter.getPriorities() != null && !filter.getPriorities().isEmpty()) {
+                predicates.add(root.get("priority").in(filter.getPriorities()));
+            }
+            if (filter.getDeadlineFrom() != null) {
+                predicates.add(builder.greaterThanOrEqualTo(root.<LocalDate>get("deadline"), filter.getDeadlineFrom()));
+            }
+            if (filter.getDeadlineTo() != null) {
+                predicates.add(builder.lessThanOrEqualTo(root.<LocalDate>get("deadline"), filter.getDeadlineTo()));
+            }
+            if (filter.getQuery() != null && !filter.getQuery().isBlank()) {
+                String pattern = "%" + escapeLike(filter.getQuery().trim().toLowerCase(Locale.ROOT)) + "%";
+                predicates.add(builder.or(
+                        builder.like(builder.lower(root.get("title")), pattern, LIKE_ESCAPE),
+                        builder.like(builder.lower(root.get("description")), pattern, LIKE_ESCAPE)));
+            }
+            return builder.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    // Символы шаблона LIKE в поисковой строке ищутся буквально
+    private static String escapeLike(String value) {
+        StringBuilder escaped = new StringBuilder(value.length() + 8);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '%' || c == '_' || c == LIKE_ESCAPE) {
+                escaped.append(LIKE_ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
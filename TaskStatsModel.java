@@ -0,0 +1,53 @@
+package ToDoList.Application.Repositories.ModelsDTO.Task;
+
+import ToDoList.Domain.Enums.TaskPriority;
+import ToDoList.Domain.Enums.TaskStatus;
+
+import java.util.Map;
+
+public class TaskStatsModel {
+
+    // Общее количество задач пользователя
+    private long total;
+
+    // Количество задач по статусам (все статусы присутствуют, отсутствующие — с нулём)
+    private Map<TaskStatus, Long> byStatus;
+
+    // Количество задач по приоритетам с разбивкой по статусам
+    private Map<TaskPriority, Map<TaskStatus, Long>> byPriority;
+
+    // Активные задачи с дедлайном сегодня
+    private long dueToday;
+
+    // Активные задачи с дедлайном с сегодняшнего дня до конца недели (воскресенья) включительно
+    private long dueThisWeek;
+
+    public TaskStatsModel(long total, Map<TaskStatus, Long> byStatus, Map<TaskPriority, Map<TaskStatus, Long>> byPriority,
+                          long dueToday, long dueThisWeek) {
+        this.total = total;
+        this.byStatus = byStatus;
+        this.byPriority = byPriority;
+        this.dueToday = dueToday;
+        this.dueThisWeek = dueThisWeek;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public Map<TaskStatus, Long> getByStatus() {
+        return byStatus;
+    }
+
+    public Map<TaskPriority, Map<TaskStatus, Long>> getByPriority() {
+        return byPriority;
+    }
+
+    public long getDueToday() {
+        return dueToday;
+    }
+
+    public long getDueThisWeek() {
+        return dueThisWeek;
+    }
+}
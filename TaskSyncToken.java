@@ -0,0 +1,71 @@
+package ToDoList.Domain.Services.Pagination;
+
+import org.apache.coyote.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+
+/**
+ * Токен инкрементальной синхронизации: точка синхронизации в БД и момент выдачи токена
+ * Точка синхронизации — наименьший идентификатор транзакции PostgreSQL, которая могла быть
+ * не завершена на момент чтения (xmin снимка). Все изменения с change_id не меньше неё
+ * клиенту ещё нужны, поэтому точка не зависит ни от часов приложения, ни от длительности транзакций.
+ * Момент выдачи нужен только для проверки срока хранения отметок об удалении.
+ * Клиенту передаётся в виде непрозрачной base64url-строки
+ */
+public final class TaskSyncToken {
+
+    private static final String PREFIX = "sync2:";
+
+    // Префикс токенов по времени приложения: такие токены больше не принимаются как точка синхронизации
+    private static final String LEGACY_PREFIX = "sync:";
+
+    private final long changeId;
+    private final Date issueTime;
+
+    public TaskSyncToken(long changeId, Date issueTime) {
+        this.changeId = changeId;
+        this.issueTime = issueTime;
+    }
+
+    public long getChangeId() {
+        return changeId;
+    }
+
+    public Date getIssueTime() {
+        return issueTime;
+    }
+
+    public String encode() {
+        String raw = PREFIX + changeId + ":" + issueTime.getTime();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Разбор токена, полученного от клиента
+     * return токен или null для токена прежнего формата (клиенту отдаётся полный список)
+     * throws BadRequestException если токен повреждён
+     */
+    public static TaskSyncToken decode(String token) throws BadRequestException {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+
+            if (raw.startsWith(LEGACY_PREFIX)) {
+                return null;
+            }
+            if (!raw.startsWith(PREFIX)) {
+                throw new BadRequestException("Sync token is invalid");
+            }
+
+            int separator = raw.indexOf(':', PREFIX.length());
+            if (separator < 0) {
+                throw new BadRequestException("Sync token is invalid");
+            }
+            return new TaskSyncToken(Long.parseLong(raw.substring(PREFIX.length(), separator)),
+                    new Date(Long.parseLong(raw.substring(separator + 1))));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Sync token is invalid");
+        }
+    }
+}
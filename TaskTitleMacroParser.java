@@ -0,0 +1,89 @@
+package ToDoList.Domain.Services.TitleMacros;
+
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Однопроходный разбор макросов в заголовке задачи
+ * Для каждого вида макроса используется первое вхождение; оно и все его точные повторы
+ * удаляются из заголовка. Если макросов нет, возвращается исходная строка без копирования
+ */
+@Component
+public class TaskTitleMacroParser {
+
+    private final ITitleMacro[] _macros;
+
+    public TaskTitleMacroParser(List<ITitleMacro> macros) {
+        _macros = macros.toArray(new ITitleMacro[0]);
+    }
+
+    /**
+     * Разбор заголовка
+     * param title заголовок задачи
+     * param types виды макросов, которые нужно извлечь (остальные остаются в заголовке)
+     * return результат разбора с заголовком без макросов
+     */
+    public TitleMacroParseResult parse(String title, Set<TitleMacroType> types) {
+        TitleMacroParseResult result = new TitleMacroParseResult();
+        result.setTitle(title);
+
+        if (title == null || types.isEmpty()) {
+            return result;
+        }
+
+        // Позиции первых вхождений макросов каждого вида
+        int[] firstStart = new int[_macros.length];
+        int[] firstEnd = new int[_macros.length];
+
+        StringBuilder builder = null;
+        int copyFrom = 0;
+        int i = title.indexOf('!');
+
+        while (i >= 0) {
+            int end = -1;
+
+            for (int m = 0; m < _macros.length && end < 0; m++) {
+                ITitleMacro macro = _macros[m];
+                if (!types.contains(macro.getType())) {
+                    continue;
+                }
+
+                int macroEnd = macro.match(title, i);
+                if (macroEnd < 0) {
+                    continue;
+                }
+
+                if (firstEnd[m] == 0) {
+                    firstStart[m] = i;
+                    firstEnd[m] = macroEnd;
+                    macro.apply(title, i, macroEnd, result);
+                    end = macroEnd;
+                } else if (macroEnd - i == firstEnd[m] - firstStart[m]
+                        && title.regionMatches(i, title, firstStart[m], macroEnd - i)) {
+                    // Повтор уже примененного макроса тоже удаляется
+                    end = macroEnd;
+                }
+            }
+
+            if (end < 0) {
+                i = title.indexOf('!', i + 1);
+                continue;
+            }
+
+            if (builder == null) {
+                builder = new StringBuilder(title.length());
+            }
+            builder.append(title, copyFrom, i);
+            copyFrom = end;
+            i = title.indexOf('!', end);
+        }
+
+        if (builder != null) {
+            builder.append(title, copyFrom, title.length());
+            result.setTitle(builder.toString());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,102 @@
+package ToDoList.Benchmarks;
+
+import ToDoList.Domain.Enums.TaskPriority;
+import ToDoList.Domain.Services.TitleMacros.DeadlineTitleMacro;
+import ToDoList.Domain.Services.TitleMacros.PriorityTitleMacro;
+import ToDoList.Domain.Services.TitleMacros.TaskTitleMacroParser;
+import ToDoList.Domain.Services.TitleMacros.TitleMacroType;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Сравнение однопроходного TaskTitleMacroParser с прежним разбором макросов через регулярные выражения
+ * Запуск с профилировщиком аллокаций: -prof gc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskTitleMacroParserBenchmark {
+
+    private static final Set<TitleMacroType> ALL_MACROS = EnumSet.allOf(TitleMacroType.class);
+
+    @Param({
+            "Buy milk",
+            "Buy milk !3",
+            "Prepare report !4 !before 15.03.2025",
+            "Call back !2 about the invoice !before 01-12-2024 !2"
+    })
+    public String title;
+
+    private TaskTitleMacroParser _parser;
+
+    @Setup
+    public void setup() {
+        _parser = new TaskTitleMacroParser(List.of(new PriorityTitleMacro(), new DeadlineTitleMacro()));
+    }
+
+    @Benchmark
+    public void singlePassParser(Blackhole blackhole) {
+        blackhole.consume(_parser.parse(title, ALL_MACROS));
+    }
+
+    @Benchmark
+    public void legacyRegex(Blackhole blackhole) {
+        String[] titleRef = new String[]{title};
+        blackhole.consume(legacyPriority(titleRef, TaskPriority.Medium));
+        blackhole.consume(legacyDeadline(titleRef));
+        blackhole.consume(titleRef[0]);
+    }
+
+    // Прежняя реализация из TaskService, оставленная как точка отсчёта
+
+    private static TaskPriority legacyPriority(String[] titleRef, TaskPriority defaultPriority) {
+        String title = titleRef[0];
+        Pattern pattern = Pattern.compile("![1-4]");
+        Matcher matcher = pattern.matcher(title);
+
+        TaskPriority taskPriority = defaultPriority;
+
+        if (matcher.find()) {
+            String findedResult = title.substring(matcher.start(), matcher.end());
+            titleRef[0] = title.replace(findedResult, "");
+            switch (findedResult) {
+                case "!1": taskPriority = TaskPriority.Low; break;
+                case "!2": taskPriority = TaskPriority.Medium; break;
+                case "!3": taskPriority = TaskPriority.High; break;
+                case "!4": taskPriority = TaskPriority.Critical; break;
+            }
+        }
+        return taskPriority;
+    }
+
+    private static LocalDate legacyDeadline(String[] titleRef) {
+        String title = titleRef[0];
+        Pattern pattern = Pattern.compile("!before ((0[1-9]|1[0-9]|2[0-9]|3[0-1])[.-](0[1-9]|1[012])[.-][0-9]{4})");
+        Matcher matcher = pattern.matcher(title);
+
+        LocalDate deadline = null;
+
+        if (matcher.find()) {
+            String findedResult = title.substring(matcher.start(), matcher.end());
+            titleRef[0] = title.replace(findedResult, "");
+
+            DateTimeFormatter inputFormatter = DateTimeFormatter.ofPattern("dd-MM-yyyy");
+            String dateGroup = matcher.group(1).replace(".", "-");
+
+            deadline = LocalDate.parse(dateGroup, inputFormatter);
+        }
+        return deadline;
+    }
+}
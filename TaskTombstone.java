@@ -0,0 +1,60 @@
+package ToDoList.Domain.Entities.Task;
+
+import jakarta.persistence.*;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.UUID;
+
+// Отметка об удалённой задаче для инкрементальной синхронизации клиентов
+@Entity
+@Table(name = "task_tombstones", indexes = {
+        @Index(name = "ix_task_tombstones_user_id_change_id", columnList = "user_id, change_id"),
+        @Index(name = "ix_task_tombstones_delete_time", columnList = "delete_time")
+})
+public class TaskTombstone {
+
+    // Срок хранения отметок; клиенту с более старым токеном синхронизации отдаётся полный список
+    public static final Duration RETENTION = Duration.ofDays(30);
+
+    @Id
+    @Column(name = "task_id")
+    private UUID taskId;
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "delete_time", nullable = false)
+    private Date deleteTime;
+
+    // Идентификатор удалившей задачу транзакции PostgreSQL, задаётся значением по умолчанию (см. Task.changeId)
+    @Column(name = "change_id", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "bigint default (pg_current_xact_id()::text::bigint)")
+    private long changeId;
+
+    protected TaskTombstone() {
+    }
+
+    public TaskTombstone(UUID taskId, UUID userId, Date deleteTime) {
+        this.taskId = taskId;
+        this.userId = userId;
+        this.deleteTime = deleteTime;
+    }
+
+    public UUID getTaskId() {
+        return taskId;
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public Date getDeleteTime() {
+        return deleteTime;
+    }
+
+    public long getChangeId() {
+        return changeId;
+    }
+}
@@ -0,0 +1,33 @@
+package ToDoList.Domain.Services;
+
+import ToDoList.Domain.Entities.Task.TaskTombstone;
+import ToDoList.Infrastructure.PostgreDB.Repositories.TaskTombstoneRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+
+// Ежедневное удаление отметок об удалённых задачах старше срока хранения
+@Component
+public class TaskTombstoneCleaner {
+
+    private static final Logger _logger = LoggerFactory.getLogger(TaskTombstoneCleaner.class);
+
+    private TaskTombstoneRepository _taskTombstoneRepository;
+
+    public TaskTombstoneCleaner(TaskTombstoneRepository taskTombstoneRepository) {
+        _taskTombstoneRepository = taskTombstoneRepository;
+    }
+
+    @Scheduled(cron = "${tasks.tombstone-cleaner.cron:0 30 3 * * *}")
+    public void clean() {
+        Date before = new Date(System.currentTimeMillis() - TaskTombstone.RETENTION.toMillis());
+        int deleted = _taskTombstoneRepository.deleteOlderThan(before);
+
+        if (deleted > 0) {
+            _logger.info("Removed {} task tombstones", deleted);
+        }
+    }
+}
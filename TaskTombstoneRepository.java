@@ -0,0 +1,28 @@
+package ToDoList.Infrastructure.PostgreDB.Repositories;
+
+import ToDoList.Domain.Entities.Task.TaskTombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface TaskTombstoneRepository extends JpaRepository<TaskTombstone, UUID> {
+
+    // Идентификаторы задач пользователя, удалённых транзакциями начиная с точки синхронизации
+    // (индекс user_id, change_id)
+    @Query("select t.taskId from TaskTombstone t where t.userId = :userId and t.changeId >= :changeId")
+    List<UUID> findDeletedTaskIdsSince(@Param("userId") UUID userId, @Param("changeId") long changeId);
+
+    // Удаление отметок старше срока хранения
+    @Transactional
+    @Modifying
+    @Query("delete from TaskTombstone t where t.deleteTime < :before")
+    int deleteOlderThan(@Param("before") Date before);
+}
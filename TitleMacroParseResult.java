@@ -0,0 +1,38 @@
+package ToDoList.Domain.Services.TitleMacros;
+
+import ToDoList.Domain.Enums.TaskPriority;
+
+import java.time.LocalDate;
+
+public class TitleMacroParseResult {
+
+    private String title;
+    private TaskPriority priority;
+    private LocalDate deadline;
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    // Приоритет из макроса или null, если макроса нет
+    public TaskPriority getPriority() {
+        return priority;
+    }
+
+    public void setPriority(TaskPriority priority) {
+        this.priority = priority;
+    }
+
+    // Дедлайн из макроса или null, если макроса нет
+    public LocalDate getDeadline() {
+        return deadline;
+    }
+
+    public void setDeadline(LocalDate deadline) {
+        this.deadline = deadline;
+    }
+}
@@ -0,0 +1,7 @@
+package ToDoList.Domain.Services.TitleMacros;
+
+// Виды макросов в заголовке задачи
+public enum TitleMacroType {
+    Priority,
+    Deadline
+}
@@ -0,0 +1,33 @@
+package ToDoList.Infrastructure.RateLimiting;
+
+/**
+ * Корзина токенов: не больше capacity запросов подряд, далее refillPerSecond запросов в секунду
+ */
+final class TokenBucket {
+
+    private final double _capacity;
+    private final double _refillPerNano;
+
+    private double _tokens;
+    private long _lastRefillNanos;
+
+    TokenBucket(int capacity, double refillPerSecond) {
+        _capacity = capacity;
+        _refillPerNano = refillPerSecond / 1_000_000_000d;
+        _tokens = capacity;
+        _lastRefillNanos = System.nanoTime();
+    }
+
+    // Забирает один токен, если он есть
+    synchronized boolean tryConsume() {
+        long now = System.nanoTime();
+        _tokens = Math.min(_capacity, _tokens + (now - _lastRefillNanos) * _refillPerNano);
+        _lastRefillNanos = now;
+
+        if (_tokens < 1) {
+            return false;
+        }
+        _tokens -= 1;
+        return true;
+    }
+}
@@ -0,0 +1,38 @@
+package ToDoList.Infrastructure.PostgreDB.Routing;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Источник данных, направляющий транзакции только для чтения на реплику, остальные — на основную БД
+ * Должен оборачиваться в LazyConnectionDataSourceProxy, чтобы соединение бралось уже после того,
+ * как менеджер транзакций отметил транзакцию как readOnly.
+ * Чтение можно принудительно направить на основную БД (forcePrimary), например сразу после
+ * собственных изменений пользователя, которые реплика могла ещё не получить
+ */
+public class TransactionRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Role {
+        Primary,
+        Replica
+    }
+
+    private static final ThreadLocal<Boolean> FORCE_PRIMARY = new ThreadLocal<>();
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && FORCE_PRIMARY.get() == null) {
+            return Role.Replica;
+        }
+        return Role.Primary;
+    }
+
+    // Направление всех запросов текущего потока на основную БД до вызова clearForcePrimary
+    static void forcePrimary() {
+        FORCE_PRIMARY.set(Boolean.TRUE);
+    }
+
+    static void clearForcePrimary() {
+        FORCE_PRIMARY.remove();
+    }
+}
@@ -1,10 +1,13 @@
 package ToDoList.Presentation.Controllers;
 
 import ToDoList.Application.Exceptions.CustomExceptions.KeyNotFoundException;
+import ToDoList.Application.Exceptions.CustomExceptions.TooManyRequestsException;
 import ToDoList.Application.Repositories.ModelsDTO.Token.TokenResponseModel;
 import ToDoList.Application.Repositories.ModelsDTO.User.UserCreateModel;
 import ToDoList.Application.Repositories.ModelsDTO.User.UserLoginDataModel;
 import ToDoList.Domain.Services.UserService;
+import ToDoList.Infrastructure.RateLimiting.LoginThrottle;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -13,10 +16,12 @@ import org.springframework.web.bind.annotation.*;
 public class UserController {
 
     private UserService _userService; // Сервис, отвечающий за бизнес-логику, связанную с пользователями
+    private LoginThrottle _loginThrottle; // Лимит и отдельный пул для хэширования паролей
 
     // Внедрение зависимости через конструктор
-    public UserController(UserService userService) {
+    public UserController(UserService userService, LoginThrottle loginThrottle) {
         _userService = userService;
+        _loginThrottle = loginThrottle;
     }
 
     /**
@@ -24,24 +29,32 @@ public class UserController {
      * param userLoginDataModel объект с логином и паролем
      * return токен в ответе (если логин/пароль корректны)
      * throws KeyNotFoundException если пользователь не найден или данные некорректны
+     * throws TooManyRequestsException если превышен лимит попыток или сервер перегружен (HTTP 429)
      */
     @PostMapping("auth")
-    public ResponseEntity<TokenResponseModel> AuthorizeUser(@RequestBody UserLoginDataModel userLoginDataModel)
-            throws KeyNotFoundException {
-
-        // Вызывает сервис авторизации и возвращает токен
-        return ResponseEntity.ok(_userService.authorizeUser(userLoginDataModel));
+    public ResponseEntity<TokenResponseModel> AuthorizeUser(@RequestBody UserLoginDataModel userLoginDataModel,
+                                                            HttpServletRequest request)
+            throws KeyNotFoundException, TooManyRequestsException {
+
+        // Вызывает сервис авторизации в пуле хэширования и возвращает токен
+        // Адрес клиента за прокси определяется RemoteIpValve (ForwardedHeadersConfiguration)
+        return ResponseEntity.ok(_loginThrottle.execute(request.getRemoteAddr(),
+                () -> _userService.authorizeUser(userLoginDataModel)));
     }
 
     /**
      * Регистрация нового пользователя
      * param userCreateModel объект с данными нового пользователя
      * return токен в ответе (пользователь сразу авторизуется)
+     * throws TooManyRequestsException если превышен лимит попыток или сервер перегружен (HTTP 429)
      */
     @PostMapping
-    public ResponseEntity<TokenResponseModel> CreateUser(@RequestBody UserCreateModel userCreateModel) {
+    public ResponseEntity<TokenResponseModel> CreateUser(@RequestBody UserCreateModel userCreateModel,
+                                                         HttpServletRequest request)
+            throws TooManyRequestsException {
 
-        // Создаёт пользователя и возвращает токен авторизации
-        return ResponseEntity.ok(_userService.createUser(userCreateModel));
+        // Создаёт пользователя в пуле хэширования и возвращает токен авторизации
+        return ResponseEntity.ok(_loginThrottle.execute(request.getRemoteAddr(),
+                () -> _userService.createUser(userCreateModel)));
     }
 }
@@ -0,0 +1,21 @@
+package ToDoList.Application.Repositories.ModelsDTO;
+
+// Модель вместе с её версией, из которой строится ETag ответа
+public class VersionedModel<T> {
+
+    private final T model;
+    private final long version;
+
+    public VersionedModel(T model, long version) {
+        this.model = model;
+        this.version = version;
+    }
+
+    public T getModel() {
+        return model;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+}
@@ -0,0 +1,72 @@
+package ToDoList.Infrastructure.Configurations;
+
+import ToDoList.Presentation.Filters.DatabaseConcurrencyLimitFilter;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+/**
+ * Режим обработки запросов на виртуальных потоках (tasks.virtual-threads.enabled=true)
+ * Tomcat и асинхронные задачи Spring выполняются на виртуальных потоках, поэтому блокировка на JDBC
+ * не занимает потоки платформы. Чтобы очередь не переехала в пул соединений HikariCP,
+ * количество одновременных запросов к /api/v1/tasks ограничивается по размеру пула
+ */
+@Configuration
+@ConditionalOnProperty(name = "tasks.virtual-threads.enabled", havingValue = "true")
+public class VirtualThreadsConfiguration {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadsProtocolHandlerCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    @Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return new TaskExecutorAdapter(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    /**
+     * Ограничитель одновременных запросов к задачам
+     * param permitsPerConnection сколько запросов допускается на одно соединение пула
+     * (часть времени запроса уходит не на БД, поэтому разумно немного больше 1)
+     * param acquireTimeout сколько запрос ждёт разрешения, прежде чем получить 503
+     */
+    @Bean
+    public FilterRegistrationBean<DatabaseConcurrencyLimitFilter> databaseConcurrencyLimitFilter(
+            DataSource dataSource,
+            MeterRegistry meterRegistry,
+            @Value("${tasks.virtual-threads.permits-per-connection:2}") int permitsPerConnection,
+            @Value("${tasks.virtual-threads.acquire-timeout:2s}") Duration acquireTimeout) {
+        int poolSize = primaryPoolSize(dataSource);
+
+        FilterRegistrationBean<DatabaseConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(
+                new DatabaseConcurrencyLimitFilter(poolSize * permitsPerConnection, acquireTimeout, meterRegistry));
+        registration.addUrlPatterns("/api/v1/tasks", "/api/v1/tasks/*");
+        return registration;
+    }
+
+    // Размер пула основной БД; источник данных может быть обёрнут (например, при чтении с реплики)
+    private static int primaryPoolSize(DataSource dataSource) {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                return dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+            }
+        } catch (SQLException e) {
+            // Размер пула неизвестен, используется значение HikariCP по умолчанию
+        }
+        return 10;
+    }
+}
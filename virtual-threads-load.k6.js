@@ -0,0 +1,83 @@
+// Нагрузочное сравнение обработки запросов на потоках платформы и на виртуальных потоках (k6)
+//
+// Приложение запускается дважды на одной и той же БД и с одинаковым пулом HikariCP:
+//   1) tasks.virtual-threads.enabled=false (по умолчанию, пул Tomcat из 200 потоков)
+//   2) tasks.virtual-threads.enabled=true  (VirtualThreadsConfiguration, DatabaseConcurrencyLimitFilter)
+// и для каждого запуска выполняется
+//   k6 run -e BASE_URL=http://localhost:8080 -e TOKEN=<токен пользователя> -e MODE=platform virtual-threads-load.k6.js
+//   k6 run -e BASE_URL=http://localhost:8080 -e TOKEN=<токен пользователя> -e MODE=virtual  virtual-threads-load.k6.js
+// Результаты сохраняются в load-summary-<MODE>.json. Сравниваются задержки (p50/p95/p99) по tag endpoint,
+// доля ошибок и число ответов 503 (отказ ограничителя при виртуальных потоках), а также метрики
+// приложения hikaricp.connections.pending и tasks.concurrency.limit.*.
+// Число виртуальных пользователей (VUS, по умолчанию 800) должно заметно превышать 200 потоков Tomcat,
+// иначе режимы не различаются.
+
+import http from 'k6/http';
+import { check } from 'k6';
+import { Counter } from 'k6/metrics';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const TOKEN = __ENV.TOKEN;
+const MODE = __ENV.MODE || 'unknown';
+const VUS = parseInt(__ENV.VUS || '800', 10);
+const DURATION = __ENV.DURATION || '3m';
+
+const rejected = new Counter('rejected_503');
+
+export const options = {
+    scenarios: {
+        tasks: {
+            executor: 'ramping-vus',
+            startVUs: 0,
+            stages: [
+                { duration: '30s', target: VUS },
+                { duration: DURATION, target: VUS },
+                { duration: '15s', target: 0 },
+            ],
+            gracefulRampDown: '10s',
+        },
+    },
+    tags: { mode: MODE },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+const params = (endpoint) => ({
+    headers: {
+        Authorization: `Bearer ${TOKEN}`,
+        'Content-Type': 'application/json',
+    },
+    tags: { endpoint },
+});
+
+export function setup() {
+    if (!TOKEN) {
+        throw new Error('TOKEN is required: a token returned by POST /api/v1/users/auth');
+    }
+}
+
+// Смесь запросов, близкая к работе клиента: в основном чтения списка, реже статистика и создание задач
+export default function () {
+    const roll = Math.random();
+    let response;
+    if (roll < 0.7) {
+        response = http.get(`${BASE_URL}/api/v1/tasks`, params('list'));
+    } else if (roll < 0.9) {
+        response = http.get(`${BASE_URL}/api/v1/tasks/stats`, params('stats'));
+    } else {
+        const body = JSON.stringify({ title: `load ${MODE} ${__VU}-${__ITER}`, description: 'k6' });
+        response = http.post(`${BASE_URL}/api/v1/tasks`, body, params('create'));
+    }
+
+    if (response.status === 503) {
+        rejected.add(1);
+    }
+    check(response, { 'status is 2xx': (r) => r.status >= 200 && r.status < 300 });
+}
+
+export function handleSummary(data) {
+    return {
+        [`load-summary-${MODE}.json`]: JSON.stringify(data, null, 2),
+        stdout: `\n${MODE}: p95 ${data.metrics.http_req_duration.values['p(95)'].toFixed(1)} ms, `
+            + `failed ${(data.metrics.http_req_failed.values.rate * 100).toFixed(2)}%\n`,
+    };
+}